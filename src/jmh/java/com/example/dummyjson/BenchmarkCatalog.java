@@ -0,0 +1,59 @@
+package com.example.dummyjson;
+
+import com.example.dummyjson.dto.Product;
+import com.example.dummyjson.dto.ProductsResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Catalogo sintetico e deterministico usado pelos benchmarks.
+ */
+public final class BenchmarkCatalog {
+
+    private static final String[] WORDS = {
+            "apple", "samsung", "phone", "laptop", "perfume", "oil", "skin", "care", "watch", "leather",
+            "wireless", "charger", "cotton", "shirt", "organic", "coffee", "ceramic", "lamp", "steel", "bottle",
+            "gaming", "mouse", "keyboard", "silver", "gold", "ring", "premium", "portable", "speaker", "camera"
+    };
+
+    private BenchmarkCatalog() {
+    }
+
+    public static List<Product> products(int size) {
+        Random random = new Random(42);
+        List<Product> catalog = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setTitle(words(random, 3) + " " + i);
+            product.setDescription(words(random, 20));
+            product.setPrice(Math.round(random.nextDouble() * 100_000) / 100.0);
+            catalog.add(product);
+        }
+        return catalog;
+    }
+
+    public static ProductsResponse page(List<Product> products, int skip, int limit) {
+        ProductsResponse response = new ProductsResponse();
+        int from = Math.min(skip, products.size());
+        int to = limit == 0 ? products.size() : Math.min(from + limit, products.size());
+        response.setProducts(products.subList(from, to));
+        response.setTotal(products.size());
+        response.setSkip(from);
+        response.setLimit(to - from);
+        return response;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.dummyjson;
+
+import com.example.dummyjson.dto.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.net.ServerSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+
+/**
+ * {@link MockWebServer} que imita o DummyJSON sobre o catalogo sintetico: {@code /products/{id}} e
+ * {@code /products?limit=&skip=}. Os sockets aceitos usam {@code TCP_NODELAY}; sem isso cada resposta
+ * espera o ACK atrasado do cliente (~40 ms) e o benchmark passa a medir o Nagle em vez do servico.
+ */
+public final class BenchmarkUpstream {
+
+    private BenchmarkUpstream() {
+    }
+
+    public static MockWebServer start(List<Product> catalog) throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        byte[][] productBodies = new byte[catalog.size() + 1][];
+        for (Product product : catalog) {
+            productBodies[product.getId().intValue()] = objectMapper.writeValueAsBytes(product);
+        }
+
+        MockWebServer server = new MockWebServer();
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                HttpUrl url = request.getRequestUrl();
+                List<String> segments = url.pathSegments();
+                try {
+                    byte[] body;
+                    if (segments.size() == 2) {
+                        int id = Integer.parseInt(segments.get(1));
+                        if (id < 1 || id >= productBodies.length) {
+                            return new MockResponse().setResponseCode(404);
+                        }
+                        body = productBodies[id];
+                    } else {
+                        body = objectMapper.writeValueAsBytes(BenchmarkCatalog.page(catalog,
+                                intParameter(url, "skip", 0), intParameter(url, "limit", 30)));
+                    }
+                    return new MockResponse()
+                            .setBody(new Buffer().write(body))
+                            .addHeader("Content-Type", "application/json");
+                } catch (IOException e) {
+                    return new MockResponse().setResponseCode(500);
+                }
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static int intParameter(HttpUrl url, String name, int defaultValue) {
+        String value = url.queryParameter(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            return createServerSocket(port, 50, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            return createServerSocket(port, backlog, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            ServerSocket serverSocket = createServerSocket();
+            serverSocket.bind(new InetSocketAddress(address, port), backlog);
+            return serverSocket;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.BenchmarkCatalog;
+import com.example.dummyjson.dto.Product;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Mede com JOL os bytes retidos por produto no snapshot do catalogo: a forma antiga
+ * ({@code LinkedHashMap<Long, Product>} mais a lista) contra {@link CatalogSnapshot} com {@link CompactProduct}.
+ * Argumentos: tamanhos de catalogo (padrao 194 e 10000).
+ */
+public final class CatalogFootprint {
+
+    private CatalogFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? new int[args.length] : new int[]{194, 10_000};
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        System.out.printf("%10s %18s %18s %18s%n", "produtos", "antes (bytes/prod)", "depois (bytes/prod)",
+                "sem strings");
+        for (int size : sizes) {
+            List<Product> catalog = BenchmarkCatalog.products(size);
+            Map<Long, Product> byId = new LinkedHashMap<>();
+            catalog.forEach(product -> byId.put(product.getId(), product));
+            List<Product> products = List.copyOf(byId.values());
+            CatalogSnapshot after = new CatalogSnapshot(catalog, Instant.now());
+
+            long strings = GraphLayout.parseInstance(catalog.stream()
+                    .flatMap(product -> Stream.of(product.getTitle(), product.getDescription()))
+                    .toArray()).totalSize();
+            long beforeBytes = GraphLayout.parseInstance(byId, products).totalSize();
+            long afterBytes = GraphLayout.parseInstance(after).totalSize();
+            System.out.printf("%10d %18.1f %18.1f %18s%n", size, (double) beforeBytes / size,
+                    (double) afterBytes / size,
+                    String.format("%.1f -> %.1f", (double) (beforeBytes - strings) / size,
+                            (double) (afterBytes - strings) / size));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.dummyjson.controller;
+
+import com.example.dummyjson.BenchmarkCatalog;
+import com.example.dummyjson.BenchmarkUpstream;
+import com.example.dummyjson.DummyJsonClientApplication;
+import okhttp3.mockwebserver.MockWebServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazao ponta a ponta do {@link ProductController}: a aplicacao sobe em porta aleatoria apontando para
+ * um {@link MockWebServer} e recebe requisicoes HTTP reais de {@link HttpClient}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ProductControllerBenchmark {
+
+    private static final int CATALOG_SIZE = 194;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private MockWebServer server;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = BenchmarkUpstream.start(BenchmarkCatalog.products(CATALOG_SIZE));
+
+        context = new SpringApplicationBuilder(DummyJsonClientApplication.class)
+                .run("--server.port=0",
+                        "--dummyjson.api.base-url=" + server.url("/"),
+                        "--dummyjson.cache.enabled=" + cacheEnabled,
+                        "--dummyjson.rate-limit.enabled=false",
+                        "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public int getProductById() throws IOException, InterruptedException {
+        long id = ThreadLocalRandom.current().nextLong(1, CATALOG_SIZE + 1);
+        return send("/api/products/" + id);
+    }
+
+    @Benchmark
+    public int getAllProducts() throws IOException, InterruptedException {
+        return send("/api/products");
+    }
+
+    private int send(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Status inesperado " + response.statusCode() + " em " + path);
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.dummyjson.dto;
+
+import com.example.dummyjson.BenchmarkCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificacao e decodificacao Jackson de {@link Product} e {@link ProductsResponse}, com o mesmo
+ * {@link ObjectMapper} que o Spring monta para o WebClient e os controllers. O tamanho 194 corresponde ao
+ * catalogo completo do DummyJSON ({@code limit=0}); 30 e a pagina padrao.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({"30", "194", "1000"})
+    public int catalogSize;
+
+    private ObjectMapper objectMapper;
+
+    private Product product;
+
+    private byte[] productJson;
+
+    private ProductsResponse response;
+
+    private byte[] responseJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Product> catalog = BenchmarkCatalog.products(catalogSize);
+        product = catalog.get(0);
+        productJson = objectMapper.writeValueAsBytes(product);
+        response = BenchmarkCatalog.page(catalog, 0, 0);
+        responseJson = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeProduct() throws IOException {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public Product decodeProduct() throws IOException {
+        return objectMapper.readValue(productJson, Product.class);
+    }
+
+    @Benchmark
+    public byte[] encodeProductsResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ProductsResponse decodeProductsResponse() throws IOException {
+        return objectMapper.readValue(responseJson, ProductsResponse.class);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.dummyjson.search;
+
+import com.example.dummyjson.BenchmarkCatalog;
+import com.example.dummyjson.dto.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSearchIndexBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int catalogSize;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(BenchmarkCatalog.products(catalogSize));
+    }
+
+    @Benchmark
+    public List<Product> singleTermExact() {
+        return index.search("laptop", 10);
+    }
+
+    @Benchmark
+    public List<Product> singleTermPrefix() {
+        return index.search("lap", 10);
+    }
+
+    @Benchmark
+    public List<Product> multiTermPrefix() {
+        return index.search("wireless cha", 10);
+    }
+}
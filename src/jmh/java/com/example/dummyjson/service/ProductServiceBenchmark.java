@@ -0,0 +1,87 @@
+package com.example.dummyjson.service;
+
+import com.example.dummyjson.BenchmarkCatalog;
+import com.example.dummyjson.BenchmarkUpstream;
+import com.example.dummyjson.cache.ProductCache;
+import com.example.dummyjson.config.ProductCacheProperties;
+import com.example.dummyjson.dto.Product;
+import okhttp3.mockwebserver.MockWebServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService} contra um {@link MockWebServer} em processo que responde ao catalogo sintetico
+ * de 194 produtos, medindo o caminho de busca por ID (com e sem cache) e a paginacao do catalogo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    private static final int CATALOG_SIZE = 194;
+
+    private MockWebServer server;
+
+    private ProductService uncached;
+
+    private ProductService cached;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = BenchmarkUpstream.start(BenchmarkCatalog.products(CATALOG_SIZE));
+
+        WebClient webClient = WebClient.create(server.url("/").toString());
+        uncached = new ProductServiceBuilder(webClient).build();
+        cached = new ProductServiceBuilder(webClient)
+                .cache(new ProductCache(new ProductCacheProperties()))
+                .build();
+        for (long id = 1; id <= CATALOG_SIZE; id++) {
+            cached.getProductById(id).block();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Benchmark
+    public Product getProductByIdUpstream() {
+        return uncached.getProductById(randomId()).block();
+    }
+
+    @Benchmark
+    public Product getProductByIdCached() {
+        return cached.getProductById(randomId()).block();
+    }
+
+    @Benchmark
+    public List<Product> getCatalog() {
+        return uncached.getCatalog().collectList().block();
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, CATALOG_SIZE + 1);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.dummyjson.loadtest;
+
+import com.example.dummyjson.dto.Product;
+import com.example.dummyjson.dto.ProductsResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imitacao local do DummyJSON sobre Reactor Netty, com latencia, taxa de erro e tamanho de payload
+ * configuraveis. Responde a {@code /products?limit=&skip=} e {@code /products/{id}}; a latencia e
+ * aplicada com timers do event loop, sem bloquear threads.
+ */
+public final class FakeDummyJsonServer implements AutoCloseable {
+
+    private final DisposableServer server;
+
+    private final LatencyDistribution latency;
+
+    private final double errorRate;
+
+    private final List<Product> catalog;
+
+    private final byte[][] productBodies;
+
+    private final Map<String, byte[]> pageBodies = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private final AtomicLong errors = new AtomicLong();
+
+    public FakeDummyJsonServer(LatencyDistribution latency, double errorRate, int catalogSize,
+                               int descriptionWords) throws JsonProcessingException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.catalog = catalog(catalogSize, descriptionWords);
+        this.productBodies = new byte[catalogSize + 1][];
+        for (Product product : catalog) {
+            productBodies[product.getId().intValue()] = objectMapper.writeValueAsBytes(product);
+        }
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/products/{id}", this::product)
+                        .get("/products", this::products))
+                .bindNow();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> product(HttpServerRequest request, HttpServerResponse response) {
+        int id;
+        try {
+            id = Integer.parseInt(request.param("id"));
+        } catch (NumberFormatException e) {
+            id = -1;
+        }
+        byte[] body = id >= 1 && id < productBodies.length ? productBodies[id] : null;
+        return respond(response, body);
+    }
+
+    private Mono<Void> products(HttpServerRequest request, HttpServerResponse response) {
+        Map<String, List<String>> parameters = new QueryStringDecoder(request.uri()).parameters();
+        int limit = intParameter(parameters, "limit", 30);
+        int skip = intParameter(parameters, "skip", 0);
+        byte[] body = pageBodies.computeIfAbsent(skip + ":" + limit, key -> page(skip, limit));
+        return respond(response, body);
+    }
+
+    private Mono<Void> respond(HttpServerResponse response, byte[] body) {
+        requests.incrementAndGet();
+        boolean fail = errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+        return Mono.delay(latency.sample()).then(Mono.defer(() -> {
+            if (fail) {
+                errors.incrementAndGet();
+                return response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR).send();
+            }
+            if (body == null) {
+                return response.status(HttpResponseStatus.NOT_FOUND).send();
+            }
+            return response.header("Content-Type", "application/json")
+                    .sendByteArray(Mono.just(body))
+                    .then();
+        }));
+    }
+
+    private byte[] page(int skip, int limit) {
+        int from = Math.min(skip, catalog.size());
+        int to = limit == 0 ? catalog.size() : Math.min(from + limit, catalog.size());
+        ProductsResponse page = new ProductsResponse();
+        page.setProducts(catalog.subList(from, to));
+        page.setTotal(catalog.size());
+        page.setSkip(from);
+        page.setLimit(to - from);
+        try {
+            return objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int intParameter(Map<String, List<String>> parameters, String name, int defaultValue) {
+        List<String> values = parameters.get(name);
+        return values == null || values.isEmpty() ? defaultValue : Integer.parseInt(values.get(0));
+    }
+
+    private static List<Product> catalog(int size, int descriptionWords) {
+        Random random = new Random(42);
+        List<Product> catalog = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setTitle("Produto " + i);
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < descriptionWords; w++) {
+                description.append(w == 0 ? "" : " ").append(Long.toString(random.nextLong() >>> 20, 36));
+            }
+            product.setDescription(description.toString());
+            product.setPrice(Math.round(random.nextDouble() * 100_000) / 100.0);
+            catalog.add(product);
+        }
+        return catalog;
+    }
+}
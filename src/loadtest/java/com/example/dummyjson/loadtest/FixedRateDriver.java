@@ -0,0 +1,82 @@
+package com.example.dummyjson.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Gerador de carga em modelo aberto: a requisicao {@code i} e agendada para {@code inicio + i / taxa},
+ * independente de as anteriores terem terminado. A latencia e medida a partir do horario agendado,
+ * e nao do envio, para que atrasos do cliente nao escondam filas no servidor (coordinated omission).
+ */
+final class FixedRateDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+
+    private final Duration requestTimeout;
+
+    FixedRateDriver(HttpClient client, Duration requestTimeout) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+    }
+
+    Result run(String scenario, LongFunction<URI> uris, int rate, Duration duration) {
+        Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        AtomicLong errors = new AtomicLong();
+        long total = rate * duration.toNanos() / TimeUnit.SECONDS.toNanos(1);
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        CompletableFuture<?>[] inFlight = new CompletableFuture<?>[(int) total];
+
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * periodNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            HttpRequest request = HttpRequest.newBuilder(uris.apply(i)).timeout(requestTimeout).GET().build();
+            inFlight[(int) i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        recorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended)));
+                        if (error != null || response.statusCode() >= 500) {
+                            errors.incrementAndGet();
+                        }
+                    });
+        }
+        CompletableFuture.allOf(inFlight).exceptionally(e -> null).join();
+        long elapsed = System.nanoTime() - start;
+        return new Result(scenario, rate, total, errors.get(), elapsed, recorder.getIntervalHistogram());
+    }
+
+    record Result(String scenario, int rate, long requests, long errors, long elapsedNanos, Histogram latency) {
+
+        double throughput() {
+            return requests * 1e9 / elapsedNanos;
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        double percentileMillis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        double maxMillis() {
+            return latency.getMaxValue() / 1000.0;
+        }
+    }
+}
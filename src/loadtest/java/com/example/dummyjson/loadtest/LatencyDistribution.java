@@ -0,0 +1,78 @@
+package com.example.dummyjson.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribuicao de latencia injetada pelo {@link FakeDummyJsonServer}. Formatos aceitos:
+ * <ul>
+ *     <li>{@code fixed:20ms}</li>
+ *     <li>{@code uniform:10ms-50ms}</li>
+ *     <li>{@code lognormal:20ms,200ms} (mediana e p99)</li>
+ * </ul>
+ */
+public abstract class LatencyDistribution {
+
+    /**
+     * Quantil 0,99 da normal padrao, usado para derivar o sigma da lognormal a partir do p99.
+     */
+    private static final double Z_99 = 2.3263478740408408;
+
+    public abstract Duration sample();
+
+    public static LatencyDistribution parse(String spec) {
+        int separator = spec.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Distribuição de latência inválida: " + spec);
+        }
+        String type = spec.substring(0, separator);
+        String[] values = spec.substring(separator + 1).split("[-,]");
+        switch (type) {
+            case "fixed":
+                return fixed(duration(values[0]));
+            case "uniform":
+                return uniform(duration(values[0]), duration(values[1]));
+            case "lognormal":
+                return logNormal(duration(values[0]), duration(values[1]));
+            default:
+                throw new IllegalArgumentException("Distribuição de latência desconhecida: " + type);
+        }
+    }
+
+    public static LatencyDistribution fixed(Duration latency) {
+        return new LatencyDistribution() {
+            @Override
+            public Duration sample() {
+                return latency;
+            }
+        };
+    }
+
+    public static LatencyDistribution uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long maxNanos = max.toNanos();
+        return new LatencyDistribution() {
+            @Override
+            public Duration sample() {
+                return Duration.ofNanos(ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1));
+            }
+        };
+    }
+
+    public static LatencyDistribution logNormal(Duration median, Duration p99) {
+        double mu = Math.log(median.toNanos());
+        double sigma = (Math.log(p99.toNanos()) - mu) / Z_99;
+        return new LatencyDistribution() {
+            @Override
+            public Duration sample() {
+                return Duration.ofNanos((long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+            }
+        };
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value.trim());
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.dummyjson.loadtest;
+
+import com.example.dummyjson.DummyJsonClientApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+
+/**
+ * Teste de carga: sobe o {@link FakeDummyJsonServer}, inicia a aplicacao apontando para ele e dispara
+ * {@code /api/products} e {@code /api/products/{id}} em taxa fixa, reportando vazao, erros e
+ * p50/p99/p999. Com {@code --target-url} a carga vai para uma instancia ja em execucao.
+ * <p>
+ * Opcoes ({@code --nome=valor}): {@code rate}, {@code duration}, {@code warmup}, {@code scenarios},
+ * {@code latency}, {@code error-rate}, {@code catalog-size}, {@code description-words},
+ * {@code request-timeout}, {@code output} e {@code target-url}. Argumentos com prefixo {@code --app.}
+ * sao repassados a aplicacao sem o prefixo, por exemplo {@code --app.dummyjson.cache.enabled=false}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("rate", "200");
+        options.put("duration", "30s");
+        options.put("warmup", "10s");
+        options.put("scenarios", "products,product-by-id");
+        options.put("latency", "lognormal:20ms,200ms");
+        options.put("error-rate", "0.01");
+        options.put("catalog-size", "194");
+        options.put("description-words", "20");
+        options.put("request-timeout", "10s");
+        options.put("output", "target/loadtest-result.json");
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--app.")) {
+                appArgs.add("--" + arg.substring("--app.".length()));
+            } else if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Argumento inválido: " + arg);
+            }
+        }
+
+        int rate = Integer.parseInt(options.get("rate"));
+        Duration duration = DurationStyle.detectAndParse(options.get("duration"));
+        Duration warmup = DurationStyle.detectAndParse(options.get("warmup"));
+        int catalogSize = Integer.parseInt(options.get("catalog-size"));
+
+        FakeDummyJsonServer upstream = null;
+        ConfigurableApplicationContext application = null;
+        String targetUrl = options.get("target-url");
+        try {
+            if (targetUrl == null) {
+                upstream = new FakeDummyJsonServer(LatencyDistribution.parse(options.get("latency")),
+                        Double.parseDouble(options.get("error-rate")), catalogSize,
+                        Integer.parseInt(options.get("description-words")));
+                appArgs.add(0, "--server.port=0");
+                appArgs.add(1, "--dummyjson.api.base-url=" + upstream.baseUrl());
+                // Todo o trafego sai de localhost; o limite por cliente derrubaria a taxa pedida.
+                appArgs.add(2, "--dummyjson.rate-limit.enabled=false");
+                application = new SpringApplicationBuilder(DummyJsonClientApplication.class)
+                        .run(appArgs.toArray(new String[0]));
+                targetUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+            }
+
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            FixedRateDriver driver = new FixedRateDriver(client,
+                    DurationStyle.detectAndParse(options.get("request-timeout")));
+            List<FixedRateDriver.Result> results = new ArrayList<>();
+            for (String scenario : options.get("scenarios").split(",")) {
+                String name = scenario.trim();
+                LongFunction<URI> uris = uris(targetUrl, name, catalogSize);
+                if (!warmup.isZero()) {
+                    driver.run(name, uris, rate, warmup);
+                }
+                results.add(driver.run(name, uris, rate, duration));
+            }
+
+            report(results, upstream);
+            write(Path.of(options.get("output")), options, results);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (upstream != null) {
+                upstream.close();
+            }
+        }
+    }
+
+    private static LongFunction<URI> uris(String targetUrl, String scenario, int catalogSize) {
+        switch (scenario) {
+            case "products":
+                URI products = URI.create(targetUrl + "/api/products");
+                return i -> products;
+            case "product-by-id":
+                return i -> URI.create(targetUrl + "/api/products/"
+                        + ThreadLocalRandom.current().nextInt(1, catalogSize + 1));
+            default:
+                throw new IllegalArgumentException("Cenário desconhecido: " + scenario);
+        }
+    }
+
+    private static void report(List<FixedRateDriver.Result> results, FakeDummyJsonServer upstream) {
+        System.out.printf(Locale.ROOT, "%n%-15s %6s %8s %10s %8s %9s %9s %9s %9s%n",
+                "Cenario", "Taxa", "Req", "Req/s", "Erros", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (FixedRateDriver.Result result : results) {
+            System.out.printf(Locale.ROOT, "%-15s %6d %8d %10.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f%n",
+                    result.scenario(), result.rate(), result.requests(), result.throughput(),
+                    result.errorRate() * 100, result.percentileMillis(50), result.percentileMillis(99),
+                    result.percentileMillis(99.9), result.maxMillis());
+        }
+        if (upstream != null) {
+            System.out.printf(Locale.ROOT, "%nUpstream falso: %d requisições, %d erros injetados%n",
+                    upstream.requests(), upstream.errors());
+        }
+    }
+
+    private static void write(Path output, Map<String, String> options, List<FixedRateDriver.Result> results)
+            throws IOException {
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        for (FixedRateDriver.Result result : results) {
+            Map<String, Object> scenario = new LinkedHashMap<>();
+            scenario.put("scenario", result.scenario());
+            scenario.put("rate", result.rate());
+            scenario.put("requests", result.requests());
+            scenario.put("throughput", result.throughput());
+            scenario.put("errorRate", result.errorRate());
+            scenario.put("p50Millis", result.percentileMillis(50));
+            scenario.put("p99Millis", result.percentileMillis(99));
+            scenario.put("p999Millis", result.percentileMillis(99.9));
+            scenario.put("maxMillis", result.maxMillis());
+            scenarios.add(scenario);
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("options", options);
+        document.put("scenarios", scenarios);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().indentOutput(true).build();
+        objectMapper.writeValue(output.toFile(), document);
+        System.out.println("Resultado gravado em " + output);
+    }
+}
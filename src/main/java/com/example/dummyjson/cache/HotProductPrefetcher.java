@@ -0,0 +1,178 @@
+package com.example.dummyjson.cache;
+
+import com.example.dummyjson.config.HotProductProperties;
+import com.example.dummyjson.service.ProductService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantem os produtos mais lidos segundo o {@link HotProductTracker} sempre no cache: a cada
+ * {@code interval} busca de novo os que vencem em menos de {@code refresh-ahead}, para que a leitura
+ * nunca encontre a entrada expirada. Os IDs quentes sao gravados em {@code path} e, na subida seguinte,
+ * buscados assim que a aplicacao fica pronta, antes de o rastreador ter visto qualquer trafego.
+ */
+@Component
+@ConditionalOnProperty(prefix = "dummyjson.hot-products.prefetch", name = "enabled", havingValue = "true")
+public class HotProductPrefetcher implements SchedulingConfigurer, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(HotProductPrefetcher.class);
+
+    private final HotProductProperties.Prefetch properties;
+
+    private final HotProductTracker tracker;
+
+    private final ProductCache productCache;
+
+    private final ProductService productService;
+
+    private final AtomicLong prefetched = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile List<Long> lastWritten = List.of();
+
+    public HotProductPrefetcher(HotProductProperties properties, HotProductTracker tracker,
+                                ProductCache productCache, ProductService productService,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties.getPrefetch();
+        this.tracker = tracker;
+        this.productCache = productCache;
+        this.productService = productService;
+        FunctionCounter.builder("dummyjson.hotproducts.prefetch", prefetched, AtomicLong::get)
+                .tag("result", "success")
+                .register(meterRegistry);
+        FunctionCounter.builder("dummyjson.hotproducts.prefetch", failed, AtomicLong::get)
+                .tag("result", "failure")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::refresh,
+                properties.getInterval(), properties.getInterval()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        List<Long> ids = readHotIds();
+        if (!ids.isEmpty()) {
+            int count = prefetch(ids);
+            log.info("{} de {} produtos quentes da execução anterior aquecidos no cache", count, ids.size());
+        }
+    }
+
+    public void refresh() {
+        List<Long> ids = hotIds();
+        List<Long> expiring = ids.stream()
+                .filter(id -> productCache.isExpiring(id, properties.getRefreshAhead()))
+                .toList();
+        if (!expiring.isEmpty()) {
+            int count = prefetch(expiring);
+            log.debug("{} de {} produtos quentes atualizados antes de expirar", count, expiring.size());
+        }
+        writeHotIds(ids);
+    }
+
+    @Override
+    public void destroy() {
+        writeHotIds(hotIds());
+    }
+
+    public long getPrefetched() {
+        return prefetched.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Busca os IDs com no maximo {@code concurrency} chamadas simultaneas e devolve quantos chegaram ao
+     * cache. Uma falha em um ID nao interrompe os demais.
+     */
+    int prefetch(List<Long> ids) {
+        try {
+            Long count = Flux.fromIterable(ids)
+                    .flatMap(id -> productService.prefetch(id)
+                            .doOnNext(product -> prefetched.incrementAndGet())
+                            .onErrorResume(e -> {
+                                failed.incrementAndGet();
+                                log.debug("Falha ao buscar antecipadamente o produto {}: {}", id, e.getMessage());
+                                return Mono.empty();
+                            }), Math.max(1, properties.getConcurrency()))
+                    .count()
+                    .block(properties.getTimeout());
+            return count != null ? count.intValue() : 0;
+        } catch (RuntimeException e) {
+            log.warn("Busca antecipada de produtos quentes interrompida: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private List<Long> hotIds() {
+        return tracker.hottest().stream().map(HotProductTracker.HotProduct::id).toList();
+    }
+
+    private List<Long> readHotIds() {
+        Path path = properties.getPath();
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    ids.add(Long.parseLong(line.trim()));
+                }
+            }
+            return ids;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Lista de produtos quentes em {} ignorada: {}", path, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void writeHotIds(List<Long> ids) {
+        if (ids.isEmpty() || ids.equals(lastWritten)) {
+            return;
+        }
+        Path path = properties.getPath();
+        try {
+            StringBuilder content = new StringBuilder(ids.size() * 8);
+            ids.forEach(id -> content.append(id).append('\n'));
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try {
+                Files.writeString(temp, content, StandardCharsets.UTF_8);
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            lastWritten = ids;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao gravar a lista de produtos quentes em {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.dummyjson.cache;
+
+import com.example.dummyjson.config.HotProductProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frequencia aproximada das leituras por ID: um count-min sketch de {@code sketch-depth} linhas por
+ * {@code sketch-width} contadores estima quantas vezes cada ID foi pedido, e os {@code top-k} IDs de maior
+ * estimativa ficam em um mapa pequeno. A cada {@code decay-after} leituras todos os contadores caem pela
+ * metade, para que IDs que esfriaram saiam da lista ao longo do dia.
+ * <p>
+ * O caminho comum (ID fora da lista e abaixo do menor da lista) so incrementa os contadores, sem lock.
+ */
+@Component
+public class HotProductTracker {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final boolean enabled;
+
+    private final int topK;
+
+    private final int depth;
+
+    private final int mask;
+
+    private final long decayAfter;
+
+    private final AtomicIntegerArray table;
+
+    private final Map<Long, Integer> top = new ConcurrentHashMap<>();
+
+    private final AtomicLong samples = new AtomicLong();
+
+    private final AtomicLong decays = new AtomicLong();
+
+    /**
+     * Menor estimativa da lista cheia; abaixo dela um ID nao tem como entrar.
+     */
+    private volatile int threshold;
+
+    @Autowired
+    public HotProductTracker(HotProductProperties properties, MeterRegistry meterRegistry) {
+        this(properties);
+        if (enabled) {
+            FunctionCounter.builder("dummyjson.hotproducts.samples", samples, AtomicLong::get)
+                    .register(meterRegistry);
+            Gauge.builder("dummyjson.hotproducts.tracked", top, Map::size)
+                    .register(meterRegistry);
+        }
+    }
+
+    public HotProductTracker(HotProductProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.topK = Math.max(1, properties.getTopK());
+        this.depth = Math.max(1, Math.min(SEEDS.length, properties.getSketchDepth()));
+        int width = Integer.highestOneBit(Math.max(16, properties.getSketchWidth()));
+        this.mask = width - 1;
+        this.decayAfter = Math.max(1, properties.getDecayAfter());
+        this.table = new AtomicIntegerArray(enabled ? depth * width : 0);
+    }
+
+    public static HotProductTracker disabled() {
+        HotProductProperties properties = new HotProductProperties();
+        properties.setEnabled(false);
+        return new HotProductTracker(properties);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public long getSamples() {
+        return samples.get();
+    }
+
+    public long getDecays() {
+        return decays.get();
+    }
+
+    public void record(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        if (samples.incrementAndGet() % decayAfter == 0) {
+            decay();
+        }
+        int estimate = increment(id);
+        if (estimate <= threshold) {
+            return;
+        }
+        if (top.replace(id, estimate) != null) {
+            return;
+        }
+        admit(id, estimate);
+    }
+
+    /**
+     * Estimativa de leituras do ID desde o ultimo decaimento; nunca menor que o valor real.
+     */
+    public int estimate(Long id) {
+        if (!enabled || id == null) {
+            return 0;
+        }
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table.get(index(id, row)));
+        }
+        return min;
+    }
+
+    /**
+     * Os IDs mais lidos, do mais para o menos frequente.
+     */
+    public List<HotProduct> hottest() {
+        List<HotProduct> hottest = new ArrayList<>(top.size());
+        top.forEach((id, estimate) -> hottest.add(new HotProduct(id, estimate)));
+        hottest.sort(Comparator.comparingInt(HotProduct::estimate).reversed()
+                .thenComparing(HotProduct::id));
+        return hottest;
+    }
+
+    private int increment(long id) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table.incrementAndGet(index(id, row)));
+        }
+        return min;
+    }
+
+    private int index(long id, int row) {
+        long hash = (id + row) * SEEDS[row];
+        hash ^= hash >>> 31;
+        return row * (mask + 1) + (int) (hash & mask);
+    }
+
+    private synchronized void admit(Long id, int estimate) {
+        if (top.size() >= topK) {
+            Map.Entry<Long, Integer> coldest = null;
+            for (Map.Entry<Long, Integer> entry : top.entrySet()) {
+                if (coldest == null || entry.getValue() < coldest.getValue()) {
+                    coldest = entry;
+                }
+            }
+            if (coldest != null && !top.containsKey(id)) {
+                if (coldest.getValue() >= estimate) {
+                    threshold = coldest.getValue();
+                    return;
+                }
+                top.remove(coldest.getKey());
+            }
+        }
+        top.put(id, estimate);
+        if (top.size() >= topK) {
+            int min = Integer.MAX_VALUE;
+            for (int value : top.values()) {
+                min = Math.min(min, value);
+            }
+            threshold = min;
+        }
+    }
+
+    private synchronized void decay() {
+        for (int i = 0; i < table.length(); i++) {
+            table.updateAndGet(i, count -> count >>> 1);
+        }
+        top.replaceAll((id, estimate) -> estimate >>> 1);
+        top.values().removeIf(estimate -> estimate == 0);
+        threshold = top.size() < topK ? 0 : threshold >>> 1;
+        decays.incrementAndGet();
+    }
+
+    public record HotProduct(Long id, int estimate) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.dummyjson.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "hotproducts")
+public class HotProductsEndpoint {
+
+    private final HotProductTracker tracker;
+
+    private final ObjectProvider<HotProductPrefetcher> prefetcher;
+
+    public HotProductsEndpoint(HotProductTracker tracker, ObjectProvider<HotProductPrefetcher> prefetcher) {
+        this.tracker = tracker;
+        this.prefetcher = prefetcher;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotProducts() {
+        HotProductPrefetcher activePrefetcher = prefetcher.getIfAvailable();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("enabled", tracker.isEnabled());
+        details.put("topK", tracker.getTopK());
+        details.put("samples", tracker.getSamples());
+        details.put("decays", tracker.getDecays());
+        details.put("prefetchEnabled", activePrefetcher != null);
+        details.put("prefetched", activePrefetcher != null ? activePrefetcher.getPrefetched() : 0);
+        details.put("prefetchFailures", activePrefetcher != null ? activePrefetcher.getFailed() : 0);
+        details.put("products", tracker.hottest());
+        return details;
+    }
+}
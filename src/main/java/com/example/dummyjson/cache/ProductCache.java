@@ -0,0 +1,232 @@
+package com.example.dummyjson.cache;
+
+import com.example.dummyjson.catalog.CompactProduct;
+import com.example.dummyjson.config.ProductCacheProperties;
+import com.example.dummyjson.dto.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache local, limitado por tamanho e TTL, dos produtos buscados por ID.
+ * <p>
+ * Depois do TTL a entrada continua guardada por mais {@code stale-while-revalidate} (servida
+ * imediatamente enquanto uma atualizacao roda em segundo plano) e por {@code stale-if-error}
+ * (servida apenas quando o DummyJSON falha). As entradas guardam {@link CompactProduct}; cada leitura
+ * devolve um {@link Product} novo.
+ * <p>
+ * IDs que o DummyJSON respondeu como inexistentes ficam em um cache negativo separado, com TTL curto
+ * ({@code negative-ttl}), para que repeticoes nao voltem ao upstream.
+ */
+@Component
+public class ProductCache {
+
+    private final boolean enabled;
+
+    private final long ttlNanos;
+
+    private final long staleWhileRevalidateNanos;
+
+    private final long staleIfErrorNanos;
+
+    private final Cache<Long, Entry> cache;
+
+    private final Cache<Long, Boolean> notFound;
+
+    private final AtomicLong staleRevalidations = new AtomicLong();
+
+    private final AtomicLong staleOnError = new AtomicLong();
+
+    @Autowired
+    public ProductCache(ProductCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties);
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+            CaffeineCacheMetrics.monitor(meterRegistry, notFound, "products-not-found");
+            FunctionCounter.builder("dummyjson.cache.stale", staleRevalidations, AtomicLong::get)
+                    .tag("reason", "revalidate")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dummyjson.cache.stale", staleOnError, AtomicLong::get)
+                    .tag("reason", "error")
+                    .register(meterRegistry);
+        }
+    }
+
+    public ProductCache(ProductCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.staleWhileRevalidateNanos = properties.getStaleWhileRevalidate().toNanos();
+        this.staleIfErrorNanos = properties.getStaleIfError().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTtl()
+                        .plus(properties.getStaleWhileRevalidate().compareTo(properties.getStaleIfError()) > 0
+                                ? properties.getStaleWhileRevalidate()
+                                : properties.getStaleIfError()))
+                .recordStats()
+                .build();
+        this.notFound = Caffeine.newBuilder()
+                .maximumSize(properties.getNegativeMaxEntries())
+                .expireAfterWrite(properties.getNegativeTtl())
+                .recordStats()
+                .build();
+    }
+
+    public static ProductCache disabled() {
+        ProductCacheProperties properties = new ProductCacheProperties();
+        properties.setEnabled(false);
+        return new ProductCache(properties);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Produto ainda dentro do TTL, ou {@code null}.
+     */
+    public Product get(Long id) {
+        Lookup lookup = lookup(id);
+        return lookup != null && lookup.isFresh() ? lookup.product() : null;
+    }
+
+    public Lookup lookup(Long id) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = cache.getIfPresent(id);
+        if (entry == null) {
+            return null;
+        }
+        long age = System.nanoTime() - entry.writtenAt();
+        Freshness freshness;
+        if (age <= ttlNanos) {
+            freshness = Freshness.FRESH;
+        } else if (age <= ttlNanos + staleWhileRevalidateNanos) {
+            freshness = Freshness.STALE_WHILE_REVALIDATE;
+        } else if (age <= ttlNanos + staleIfErrorNanos) {
+            freshness = Freshness.STALE_IF_ERROR;
+        } else {
+            return null;
+        }
+        return new Lookup(entry.product().toProduct(), freshness);
+    }
+
+    /**
+     * {@code true} quando o ID nao tem entrada dentro do TTL ou ela vence em menos de {@code window};
+     * usado para atualizar produtos quentes antes que expirem.
+     */
+    public boolean isExpiring(Long id, Duration window) {
+        if (!enabled) {
+            return false;
+        }
+        Entry entry = cache.getIfPresent(id);
+        return entry == null || System.nanoTime() - entry.writtenAt() >= ttlNanos - window.toNanos();
+    }
+
+    public void put(Long id, Product product) {
+        if (enabled && product != null) {
+            notFound.invalidate(id);
+            cache.put(id, new Entry(CompactProduct.of(product), System.nanoTime()));
+        }
+    }
+
+    /**
+     * Grava um produto obtido em {@code loadedAt}, com a idade que ele ja tem: dados antigos entram vencidos
+     * (servidos apenas como stale) e os mais velhos que toda a janela de retencao sao descartados.
+     *
+     * @return {@code true} se o produto entrou no cache
+     */
+    public boolean put(Long id, Product product, Instant loadedAt) {
+        if (!enabled || product == null) {
+            return false;
+        }
+        long ageNanos = Math.max(0, Duration.between(loadedAt, Instant.now()).toNanos());
+        if (ageNanos > ttlNanos + Math.max(staleWhileRevalidateNanos, staleIfErrorNanos)) {
+            return false;
+        }
+        notFound.invalidate(id);
+        cache.put(id, new Entry(CompactProduct.of(product), System.nanoTime() - ageNanos));
+        return true;
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * {@code true} se o ID foi respondido como inexistente ha menos de {@code negative-ttl}.
+     */
+    public boolean isKnownMissing(Long id) {
+        return enabled && notFound.getIfPresent(id) != null;
+    }
+
+    public void putMissing(Long id) {
+        if (enabled) {
+            cache.invalidate(id);
+            notFound.put(id, Boolean.TRUE);
+        }
+    }
+
+    public void recordStaleRevalidation() {
+        staleRevalidations.incrementAndGet();
+    }
+
+    public void recordStaleOnError() {
+        staleOnError.incrementAndGet();
+    }
+
+    public List<Product> values() {
+        return cache.asMap().values().stream().map(entry -> entry.product().toProduct()).toList();
+    }
+
+    /**
+     * Instante em que a entrada mais antiga foi obtida, ou agora se o cache estiver vazio.
+     */
+    public Instant oldestEntryTime() {
+        long now = System.nanoTime();
+        long oldestAge = 0;
+        for (Entry entry : cache.asMap().values()) {
+            oldestAge = Math.max(oldestAge, now - entry.writtenAt());
+        }
+        return Instant.now().minusNanos(oldestAge);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public enum Freshness {
+        FRESH,
+        STALE_WHILE_REVALIDATE,
+        STALE_IF_ERROR
+    }
+
+    public record Lookup(Product product, Freshness freshness) {
+
+        public boolean isFresh() {
+            return freshness == Freshness.FRESH;
+        }
+
+        public boolean isRevalidatable() {
+            return freshness == Freshness.STALE_WHILE_REVALIDATE;
+        }
+    }
+
+    private record Entry(CompactProduct product, long writtenAt) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.dummyjson.catalog;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Publicado sempre que um novo snapshot do catalogo passa a valer.
+ * {@code previous} e {@code null} na primeira carga.
+ */
+public class CatalogChangedEvent extends ApplicationEvent {
+
+    private final CatalogSnapshot previous;
+
+    private final CatalogSnapshot current;
+
+    public CatalogChangedEvent(Object source, CatalogSnapshot previous, CatalogSnapshot current) {
+        super(source);
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public CatalogSnapshot getPrevious() {
+        return previous;
+    }
+
+    public CatalogSnapshot getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.dummyjson.catalog;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "catalog")
+public class CatalogEndpoint {
+
+    private final CatalogMirror catalogMirror;
+
+    public CatalogEndpoint(CatalogMirror catalogMirror) {
+        this.catalogMirror = catalogMirror;
+    }
+
+    @ReadOperation
+    public Map<String, Object> catalog() {
+        CatalogSnapshot snapshot = catalogMirror.current();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("mirrorEnabled", catalogMirror.isEnabled());
+        details.put("serving", catalogMirror.serving() != null);
+        details.put("refreshInterval", catalogMirror.getProperties().getRefreshInterval().toString());
+        details.put("maxAge", catalogMirror.getProperties().getMaxAge().toString());
+        details.put("fallbackOnMiss", catalogMirror.isFallbackOnMiss());
+        details.put("size", snapshot != null ? snapshot.size() : 0);
+        details.put("loadedAt", snapshot != null ? snapshot.loadedAt() : null);
+        details.put("ageSeconds", snapshot != null ? snapshot.age().toSeconds() : null);
+        details.put("lastRefreshAttempt", catalogMirror.getLastRefreshAttempt());
+        details.put("lastRefreshError", catalogMirror.getLastRefreshError());
+        details.put("refreshCount", catalogMirror.getRefreshCount());
+        details.put("failedRefreshCount", catalogMirror.getFailedRefreshCount());
+        return details;
+    }
+}
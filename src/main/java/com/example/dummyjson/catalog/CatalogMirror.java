@@ -0,0 +1,131 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.config.MirrorProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Guarda o snapshot atual do catalogo. A troca e atomica: leitores sempre veem um
+ * snapshot completo, nunca um parcialmente carregado.
+ */
+@Component
+public class CatalogMirror {
+
+    private final MirrorProperties properties;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+
+    private final AtomicLong refreshCount = new AtomicLong();
+
+    private final AtomicLong failedRefreshCount = new AtomicLong();
+
+    private volatile Instant lastRefreshAttempt;
+
+    private volatile String lastRefreshError;
+
+    @Autowired
+    public CatalogMirror(MirrorProperties properties, MeterRegistry meterRegistry,
+                         ApplicationEventPublisher eventPublisher) {
+        this(properties, eventPublisher);
+        Gauge.builder("dummyjson.catalog.snapshot.age", this,
+                        mirror -> mirror.current() != null ? mirror.current().age().toMillis() / 1000.0 : Double.NaN)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("dummyjson.catalog.snapshot.size", this,
+                        mirror -> mirror.current() != null ? mirror.current().size() : 0)
+                .register(meterRegistry);
+    }
+
+    public CatalogMirror(MirrorProperties properties) {
+        this(properties, event -> {
+        });
+    }
+
+    private CatalogMirror(MirrorProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public static CatalogMirror disabled() {
+        return new CatalogMirror(new MirrorProperties());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public boolean isFallbackOnMiss() {
+        return properties.isFallbackOnMiss();
+    }
+
+    /**
+     * Snapshot apto a servir leituras: o mirror precisa estar habilitado e o snapshot
+     * nao pode ser mais velho que {@code dummyjson.mirror.max-age}.
+     */
+    public CatalogSnapshot serving() {
+        CatalogSnapshot current = snapshot.get();
+        if (!properties.isEnabled() || current == null) {
+            return null;
+        }
+        return current.age().compareTo(properties.getMaxAge()) <= 0 ? current : null;
+    }
+
+    public CatalogSnapshot current() {
+        return snapshot.get();
+    }
+
+    public CatalogSnapshot replace(CatalogSnapshot next) {
+        CatalogSnapshot previous = snapshot.getAndSet(next);
+        lastRefreshAttempt = Instant.now();
+        lastRefreshError = null;
+        refreshCount.incrementAndGet();
+        eventPublisher.publishEvent(new CatalogChangedEvent(this, previous, next));
+        return previous;
+    }
+
+    /**
+     * Restaura um snapshot persistido; nao substitui um snapshot ja carregado do upstream.
+     */
+    public boolean restore(CatalogSnapshot restored) {
+        if (!snapshot.compareAndSet(null, restored)) {
+            return false;
+        }
+        eventPublisher.publishEvent(new CatalogChangedEvent(this, null, restored));
+        return true;
+    }
+
+    public void recordRefreshFailure(Throwable error) {
+        lastRefreshAttempt = Instant.now();
+        lastRefreshError = error.getMessage();
+        failedRefreshCount.incrementAndGet();
+    }
+
+    public Instant getLastRefreshAttempt() {
+        return lastRefreshAttempt;
+    }
+
+    public String getLastRefreshError() {
+        return lastRefreshError;
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    public long getFailedRefreshCount() {
+        return failedRefreshCount.get();
+    }
+
+    public MirrorProperties getProperties() {
+        return properties;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+@ConditionalOnProperty(prefix = "dummyjson.mirror", name = "enabled", havingValue = "true")
+public class CatalogMirrorRefresher implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogMirrorRefresher.class);
+
+    private final ProductService productService;
+
+    private final CatalogMirror catalogMirror;
+
+    public CatalogMirrorRefresher(ProductService productService, CatalogMirror catalogMirror) {
+        this.productService = productService;
+        this.catalogMirror = catalogMirror;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::refresh,
+                catalogMirror.getProperties().getRefreshInterval(), Duration.ZERO));
+    }
+
+    public void refresh() {
+        try {
+            CatalogSnapshot snapshot = productService.getUpstreamCatalog()
+                    .collectList()
+                    .map(products -> new CatalogSnapshot(products, Instant.now()))
+                    .block(catalogMirror.getProperties().getRefreshTimeout());
+            if (snapshot != null) {
+                catalogMirror.replace(snapshot);
+                log.info("Snapshot do catálogo atualizado com {} produtos", snapshot.size());
+            }
+        } catch (RuntimeException e) {
+            catalogMirror.recordRefreshFailure(e);
+            log.warn("Falha ao atualizar o snapshot do catálogo: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.dto.Product;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Copia imutavel do catalogo, indexada por ID. Os produtos ficam como {@link CompactProduct} na ordem
+ * original; a busca por ID e uma busca binaria em {@code long[]} ordenado, sem mapa nem IDs boxed.
+ * {@link #get(Long)} e {@link #products()} devolvem {@link Product} montados a cada acesso.
+ */
+public final class CatalogSnapshot {
+
+    private final CompactProduct[] products;
+
+    private final long[] sortedIds;
+
+    private final int[] positions;
+
+    private final Instant loadedAt;
+
+    public CatalogSnapshot(Collection<Product> products, Instant loadedAt) {
+        Map<Long, Product> byId = new LinkedHashMap<>();
+        for (Product product : products) {
+            if (product.getId() != null) {
+                byId.put(product.getId(), product);
+            }
+        }
+        this.products = new CompactProduct[byId.size()];
+        int position = 0;
+        for (Product product : byId.values()) {
+            this.products[position++] = CompactProduct.of(product);
+        }
+        Integer[] order = new Integer[this.products.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (left, right) -> Long.compare(this.products[left].id(), this.products[right].id()));
+        this.sortedIds = new long[order.length];
+        this.positions = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            this.sortedIds[i] = this.products[order[i]].id();
+            this.positions[i] = order[i];
+        }
+        this.loadedAt = loadedAt;
+    }
+
+    public Product get(Long id) {
+        CompactProduct compact = getCompact(id);
+        return compact != null ? compact.toProduct() : null;
+    }
+
+    public CompactProduct getCompact(Long id) {
+        if (id == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(sortedIds, id);
+        return index >= 0 ? products[positions[index]] : null;
+    }
+
+    public boolean contains(Long id) {
+        return id != null && Arrays.binarySearch(sortedIds, id) >= 0;
+    }
+
+    public List<Product> products() {
+        return new ProductView();
+    }
+
+    public List<CompactProduct> compactProducts() {
+        return Collections.unmodifiableList(Arrays.asList(products));
+    }
+
+    public int size() {
+        return products.length;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public Duration age() {
+        return Duration.between(loadedAt, Instant.now());
+    }
+
+    private final class ProductView extends AbstractList<Product> implements RandomAccess {
+
+        @Override
+        public Product get(int index) {
+            return products[index].toProduct();
+        }
+
+        @Override
+        public int size() {
+            return products.length;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.dto.Product;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binario do snapshot em disco:
+ * <pre>
+ * magic (int) | versao (short) | loadedAt em epoch millis (long) | quantidade (int)
+ * produtos: id (long) | title (string) | description (string) | price (byte presente + double)
+ * CRC32 de todos os bytes anteriores (long)
+ * </pre>
+ * Strings sao gravadas como tamanho (int, -1 para null) seguido dos bytes UTF-8.
+ */
+public final class CatalogSnapshotFile {
+
+    static final int MAGIC = 0x444A4353;
+
+    static final short VERSION = 1;
+
+    private CatalogSnapshotFile() {
+    }
+
+    public static void write(Path path, Collection<Product> products, Instant loadedAt) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(products.size() * 128 + 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(loadedAt.toEpochMilli());
+        out.writeInt(products.size());
+        for (Product product : products) {
+            out.writeLong(product.getId());
+            writeString(out, product.getTitle());
+            writeString(out, product.getDescription());
+            out.writeBoolean(product.getPrice() != null);
+            out.writeDouble(product.getPrice() != null ? product.getPrice() : 0d);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static CatalogSnapshot read(Path path) throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        if (content.length < Long.BYTES) {
+            throw new IOException("Arquivo de snapshot truncado: " + path);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length - Long.BYTES);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Arquivo não é um snapshot do catálogo: " + path);
+        }
+        short version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("Versão de snapshot não suportada: " + version);
+        }
+        Instant loadedAt = Instant.ofEpochMilli(in.readLong());
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Quantidade de produtos inválida: " + count);
+        }
+        List<Product> products = new ArrayList<>(Math.min(count, 10_000));
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setId(in.readLong());
+            product.setTitle(readString(in));
+            product.setDescription(readString(in));
+            boolean hasPrice = in.readBoolean();
+            double price = in.readDouble();
+            product.setPrice(hasPrice ? price : null);
+            products.add(product);
+        }
+        if (in.readLong() != crc.getValue()) {
+            throw new IOException("Checksum do snapshot inválido: " + path);
+        }
+        return new CatalogSnapshot(products, loadedAt);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.available()) {
+            throw new IOException("Snapshot truncado");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.cache.ProductCache;
+import com.example.dummyjson.config.SnapshotFileProperties;
+import com.example.dummyjson.dto.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Grava o catalogo em disco periodicamente e o recarrega na inicializacao, antes de o
+ * servidor web aceitar requisicoes, para que um no reiniciado ja comece aquecido.
+ */
+@Component
+@ConditionalOnProperty(prefix = "dummyjson.snapshot", name = "enabled", havingValue = "true")
+public class CatalogSnapshotPersistence implements InitializingBean, DisposableBean, SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotPersistence.class);
+
+    private final SnapshotFileProperties properties;
+
+    private final CatalogMirror catalogMirror;
+
+    private final ProductCache productCache;
+
+    private static final Comparator<Product> BY_ID =
+            Comparator.comparing(Product::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * Produtos gravados (ou carregados) por ultimo, ordenados por ID; so se grava de novo quando o conteudo
+     * muda, independente da ordem em que o cache devolve as entradas.
+     */
+    private volatile List<Product> lastWritten;
+
+    public CatalogSnapshotPersistence(SnapshotFileProperties properties, CatalogMirror catalogMirror,
+                                      ProductCache productCache) {
+        this.properties = properties;
+        this.catalogMirror = catalogMirror;
+        this.productCache = productCache;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        load();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::write,
+                properties.getWriteInterval(), properties.getWriteInterval()));
+    }
+
+    @Override
+    public void destroy() {
+        write();
+    }
+
+    public void load() {
+        Path path = properties.getPath();
+        if (!Files.exists(path)) {
+            log.info("Nenhum snapshot do catálogo em {}; iniciando sem cache aquecido", path);
+            return;
+        }
+        try {
+            CatalogSnapshot snapshot = CatalogSnapshotFile.read(path);
+            if (catalogMirror.isEnabled()) {
+                catalogMirror.restore(snapshot);
+            }
+            int cached = 0;
+            for (Product product : snapshot.products()) {
+                if (productCache.put(product.getId(), product, snapshot.loadedAt())) {
+                    cached++;
+                }
+            }
+            lastWritten = sortedById(snapshot.products());
+            log.info("Snapshot do catálogo carregado de {} com {} produtos (gerado em {}); {} ainda no cache",
+                    path, snapshot.size(), snapshot.loadedAt(), cached);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Snapshot do catálogo em {} ignorado: {}", path, e.getMessage());
+        }
+    }
+
+    public void write() {
+        CatalogSnapshot snapshot = catalogMirror.isEnabled() ? catalogMirror.current() : null;
+        List<Product> products = sortedById(snapshot != null ? snapshot.products() : productCache.values());
+        if (products.isEmpty() || products.equals(lastWritten)) {
+            return;
+        }
+        try {
+            CatalogSnapshotFile.write(properties.getPath(), products,
+                    snapshot != null ? snapshot.loadedAt() : productCache.oldestEntryTime());
+            lastWritten = products;
+            log.debug("Snapshot do catálogo gravado em {} com {} produtos", properties.getPath(), products.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao gravar o snapshot do catálogo em {}: {}", properties.getPath(), e.getMessage());
+        }
+    }
+
+    private static List<Product> sortedById(Collection<Product> products) {
+        return products.stream().sorted(BY_ID).toList();
+    }
+}
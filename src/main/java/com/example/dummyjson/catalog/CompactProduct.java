@@ -0,0 +1,104 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.dto.Product;
+import com.github.benmanes.caffeine.cache.Interner;
+
+/**
+ * Forma imutavel e compacta de {@link Product} usada no armazenamento do cache, do snapshot e dos indices.
+ * {@code id} e {@code price} ficam em campos primitivos (ausencia representada por {@link #NO_ID} e
+ * {@code NaN}), {@code title} e {@code description} passam por um interner fraco, de modo que o mesmo
+ * texto guardado no cache e no snapshot, ou relido a cada atualizacao, ocupa uma unica {@link String}, e
+ * o hash e calculado uma so vez. O {@link Product} do contrato HTTP e montado sob demanda em
+ * {@link #toProduct()}.
+ */
+public final class CompactProduct {
+
+    public static final long NO_ID = Long.MIN_VALUE;
+
+    private static final Interner<String> STRINGS = Interner.newWeakInterner();
+
+    private final long id;
+
+    private final double price;
+
+    private final String title;
+
+    private final String description;
+
+    private final int hash;
+
+    private CompactProduct(long id, String title, String description, double price) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.price = price;
+        this.hash = computeHash();
+    }
+
+    public static CompactProduct of(Product product) {
+        return new CompactProduct(product.getId() != null ? product.getId() : NO_ID,
+                intern(product.getTitle()), intern(product.getDescription()),
+                product.getPrice() != null ? product.getPrice() : Double.NaN);
+    }
+
+    public Product toProduct() {
+        Product product = new Product();
+        product.setId(hasId() ? id : null);
+        product.setTitle(title);
+        product.setDescription(description);
+        product.setPrice(hasPrice() ? price : null);
+        return product;
+    }
+
+    public boolean hasId() {
+        return id != NO_ID;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public boolean hasPrice() {
+        return !Double.isNaN(price);
+    }
+
+    public double price() {
+        return price;
+    }
+
+    public String title() {
+        return title;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompactProduct other)) return false;
+        return hash == other.hash
+                && id == other.id
+                && Double.compare(price, other.price) == 0
+                && (title == null ? other.title == null : title.equals(other.title))
+                && (description == null ? other.description == null : description.equals(other.description));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private int computeHash() {
+        int result = Long.hashCode(id);
+        result = 31 * result + (title != null ? title.hashCode() : 0);
+        result = 31 * result + (description != null ? description.hashCode() : 0);
+        result = 31 * result + Double.hashCode(price);
+        return result;
+    }
+
+    private static String intern(String value) {
+        return value != null ? STRINGS.intern(value) : null;
+    }
+}
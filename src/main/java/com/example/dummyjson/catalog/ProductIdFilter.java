@@ -0,0 +1,78 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.config.IdFilterProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conjunto de IDs existentes montado a cada novo snapshot do catalogo, em um {@link BitSet} indexado
+ * pelo proprio ID (os IDs do DummyJSON sao densos a partir de 1). Um ID menor que 1, ou um buraco
+ * dentro da faixa conhecida, nao pode existir e e rejeitado sem chamada ao DummyJSON. IDs acima do maior
+ * conhecido continuam indo ao upstream, porque produtos novos entram no fim da faixa.
+ */
+@Component
+public class ProductIdFilter implements ApplicationListener<CatalogChangedEvent> {
+
+    private final boolean enabled;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile BitSet known;
+
+    @Autowired
+    public ProductIdFilter(IdFilterProperties properties, MeterRegistry meterRegistry) {
+        this(properties);
+        FunctionCounter.builder("dummyjson.notfound.shortcircuit", rejected, AtomicLong::get)
+                .tag("reason", "id-filter")
+                .register(meterRegistry);
+    }
+
+    public ProductIdFilter(IdFilterProperties properties) {
+        this.enabled = properties.isEnabled();
+    }
+
+    public static ProductIdFilter disabled() {
+        IdFilterProperties properties = new IdFilterProperties();
+        properties.setEnabled(false);
+        return new ProductIdFilter(properties);
+    }
+
+    @Override
+    public void onApplicationEvent(CatalogChangedEvent event) {
+        rebuild(event.getCurrent());
+    }
+
+    public void rebuild(CatalogSnapshot snapshot) {
+        BitSet ids = new BitSet();
+        for (CompactProduct product : snapshot.compactProducts()) {
+            if (product.id() >= 1 && product.id() <= Integer.MAX_VALUE) {
+                ids.set((int) product.id());
+            }
+        }
+        known = ids;
+    }
+
+    /**
+     * {@code true} quando o ID certamente nao existe no DummyJSON.
+     */
+    public boolean rejects(Long id) {
+        if (!enabled) {
+            return false;
+        }
+        boolean impossible = id < 1;
+        BitSet ids = known;
+        if (!impossible && ids != null && id < ids.length()) {
+            impossible = !ids.get(id.intValue());
+        }
+        if (impossible) {
+            rejected.incrementAndGet();
+        }
+        return impossible;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.dummyjson.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dummyjson.hot-products")
+public class HotProductProperties {
+
+    private boolean enabled = true;
+
+    private int topK = 20;
+
+    private int sketchWidth = 2048;
+
+    private int sketchDepth = 4;
+
+    private long decayAfter = 100_000;
+
+    private final Prefetch prefetch = new Prefetch();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    public int getSketchWidth() {
+        return sketchWidth;
+    }
+
+    public void setSketchWidth(int sketchWidth) {
+        this.sketchWidth = sketchWidth;
+    }
+
+    public int getSketchDepth() {
+        return sketchDepth;
+    }
+
+    public void setSketchDepth(int sketchDepth) {
+        this.sketchDepth = sketchDepth;
+    }
+
+    public long getDecayAfter() {
+        return decayAfter;
+    }
+
+    public void setDecayAfter(long decayAfter) {
+        this.decayAfter = decayAfter;
+    }
+
+    public Prefetch getPrefetch() {
+        return prefetch;
+    }
+
+    public static class Prefetch {
+
+        private boolean enabled = false;
+
+        private Duration interval = Duration.ofSeconds(30);
+
+        private Duration refreshAhead = Duration.ofMinutes(1);
+
+        private int concurrency = 4;
+
+        private Duration timeout = Duration.ofSeconds(20);
+
+        private Path path = Path.of("data", "hot-products.txt");
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public Duration getRefreshAhead() {
+            return refreshAhead;
+        }
+
+        public void setRefreshAhead(Duration refreshAhead) {
+            this.refreshAhead = refreshAhead;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public void setPath(Path path) {
+            this.path = path;
+        }
+    }
+}
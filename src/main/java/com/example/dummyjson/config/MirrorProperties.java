@@ -0,0 +1,59 @@
+package com.example.dummyjson.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dummyjson.mirror")
+public class MirrorProperties {
+
+    private boolean enabled = false;
+
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    private Duration refreshTimeout = Duration.ofSeconds(30);
+
+    private Duration maxAge = Duration.ofMinutes(30);
+
+    private boolean fallbackOnMiss = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getRefreshTimeout() {
+        return refreshTimeout;
+    }
+
+    public void setRefreshTimeout(Duration refreshTimeout) {
+        this.refreshTimeout = refreshTimeout;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public boolean isFallbackOnMiss() {
+        return fallbackOnMiss;
+    }
+
+    public void setFallbackOnMiss(boolean fallbackOnMiss) {
+        this.fallbackOnMiss = fallbackOnMiss;
+    }
+}
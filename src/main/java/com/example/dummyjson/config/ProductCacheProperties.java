@@ -0,0 +1,79 @@
+package com.example.dummyjson.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dummyjson.cache")
+public class ProductCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maxEntries = 1000;
+
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private Duration staleWhileRevalidate = Duration.ofMinutes(1);
+
+    private Duration staleIfError = Duration.ofMinutes(30);
+
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    private long negativeMaxEntries = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public Duration getStaleIfError() {
+        return staleIfError;
+    }
+
+    public void setStaleIfError(Duration staleIfError) {
+        this.staleIfError = staleIfError;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+
+    public long getNegativeMaxEntries() {
+        return negativeMaxEntries;
+    }
+
+    public void setNegativeMaxEntries(long negativeMaxEntries) {
+        this.negativeMaxEntries = negativeMaxEntries;
+    }
+}
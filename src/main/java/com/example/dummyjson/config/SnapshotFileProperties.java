@@ -0,0 +1,40 @@
+package com.example.dummyjson.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "dummyjson.snapshot")
+public class SnapshotFileProperties {
+
+    private boolean enabled = false;
+
+    private Path path = Path.of("data", "catalog.snapshot");
+
+    private Duration writeInterval = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void setPath(Path path) {
+        this.path = path;
+    }
+
+    public Duration getWriteInterval() {
+        return writeInterval;
+    }
+
+    public void setWriteInterval(Duration writeInterval) {
+        this.writeInterval = writeInterval;
+    }
+}
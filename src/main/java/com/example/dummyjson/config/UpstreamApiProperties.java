@@ -0,0 +1,110 @@
+package com.example.dummyjson.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "dummyjson.api")
+public class UpstreamApiProperties {
+
+    private String baseUrl = "https://dummyjson.com";
+
+    /**
+     * Espelhos ou proxies regionais do DummyJSON; quando informada, substitui {@code base-url}.
+     */
+    private List<String> baseUrls = new ArrayList<>();
+
+    private final Balancer balancer = new Balancer();
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public List<String> getBaseUrls() {
+        return baseUrls;
+    }
+
+    public void setBaseUrls(List<String> baseUrls) {
+        this.baseUrls = baseUrls;
+    }
+
+    /**
+     * {@code base-urls}, ou apenas {@code base-url} quando a lista esta vazia.
+     */
+    public List<String> endpoints() {
+        return baseUrls == null || baseUrls.isEmpty() ? List.of(baseUrl) : List.copyOf(baseUrls);
+    }
+
+    public Balancer getBalancer() {
+        return balancer;
+    }
+
+    public static class Balancer {
+
+        private Duration decay = Duration.ofSeconds(10);
+
+        private int ejectAfterFailures = 3;
+
+        private Duration ejectDuration = Duration.ofSeconds(10);
+
+        private Duration maxEjectDuration = Duration.ofMinutes(2);
+
+        private Duration probeInterval = Duration.ofSeconds(5);
+
+        private String probePath = "/products/1?select=id";
+
+        public Duration getDecay() {
+            return decay;
+        }
+
+        public void setDecay(Duration decay) {
+            this.decay = decay;
+        }
+
+        public int getEjectAfterFailures() {
+            return ejectAfterFailures;
+        }
+
+        public void setEjectAfterFailures(int ejectAfterFailures) {
+            this.ejectAfterFailures = ejectAfterFailures;
+        }
+
+        public Duration getEjectDuration() {
+            return ejectDuration;
+        }
+
+        public void setEjectDuration(Duration ejectDuration) {
+            this.ejectDuration = ejectDuration;
+        }
+
+        public Duration getMaxEjectDuration() {
+            return maxEjectDuration;
+        }
+
+        public void setMaxEjectDuration(Duration maxEjectDuration) {
+            this.maxEjectDuration = maxEjectDuration;
+        }
+
+        public Duration getProbeInterval() {
+            return probeInterval;
+        }
+
+        public void setProbeInterval(Duration probeInterval) {
+            this.probeInterval = probeInterval;
+        }
+
+        public String getProbePath() {
+            return probePath;
+        }
+
+        public void setProbePath(String probePath) {
+            this.probePath = probePath;
+        }
+    }
+}
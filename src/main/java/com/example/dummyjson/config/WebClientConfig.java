@@ -1,20 +1,64 @@
 package com.example.dummyjson.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.example.dummyjson.upstream.UpstreamMetrics;
+import com.example.dummyjson.upstream.UpstreamPool;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebClientConfig {
 
-    @Value("${dummyjson.api.base-url}")
-    private String baseUrl;
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider dummyJsonConnectionProvider(UpstreamHttpProperties properties) {
+        UpstreamHttpProperties.Pool pool = properties.getPool();
+        return ConnectionProvider.builder("dummyjson")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                .metrics(pool.isMetrics())
+                .build();
+    }
 
+    /**
+     * As URIs sao montadas sobre a primeira URL base; o filtro do {@link UpstreamPool} redireciona cada
+     * troca HTTP para o endpoint escolhido.
+     */
     @Bean
-    public WebClient webClient(WebClient.Builder webClientBuilder) {
+    public WebClient webClient(WebClient.Builder webClientBuilder, ConnectionProvider dummyJsonConnectionProvider,
+                               UpstreamHttpProperties properties, UpstreamPool upstreamPool) {
         return webClientBuilder
-                .baseUrl(baseUrl)
+                .baseUrl(upstreamPool.primary())
+                .filter(UpstreamMetrics.statusRecorder())
+                .filter(upstreamPool.filter())
+                .clientConnector(new ReactorClientHttpConnector(httpClient(dummyJsonConnectionProvider, properties)))
                 .build();
     }
-}
\ No newline at end of file
+
+    static HttpClient httpClient(ConnectionProvider connectionProvider, UpstreamHttpProperties properties) {
+        long readTimeout = properties.getReadTimeout().toMillis();
+        long writeTimeout = properties.getWriteTimeout().toMillis();
+        return HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, properties.isKeepAlive())
+                .keepAlive(properties.isKeepAlive())
+                .responseTimeout(properties.getResponseTimeout())
+                .compress(properties.isCompress())
+                .protocol(properties.getProtocols().toArray(new HttpProtocol[0]))
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(readTimeout, TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(writeTimeout, TimeUnit.MILLISECONDS)));
+    }
+}
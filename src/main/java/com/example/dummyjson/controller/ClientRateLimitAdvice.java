@@ -0,0 +1,157 @@
+package com.example.dummyjson.controller;
+
+import com.example.dummyjson.config.RateLimitProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aplica o {@link ClientRateLimiter} antes de qualquer handler do {@link ProductController}, por meio de um
+ * metodo {@code @ModelAttribute} em cada pilha web ({@link ReactiveClientRateLimitAdvice} no WebFlux e
+ * {@code ServletClientRateLimitAdvice} no Spring MVC), que so diferem em como obtem o endereco do socket.
+ * <p>
+ * O cliente e o endereco remoto da conexao. Somente quando esse endereco esta em {@code trusted-proxies}
+ * os cabecalhos sao considerados: {@code X-Client-Id}, que o proxy e responsavel por autenticar, ou o
+ * primeiro endereco de {@code X-Forwarded-For}, lido da direita para a esquerda, que nao seja de um proxy
+ * confiavel. Cabecalhos enviados diretamente pelo cliente sao ignorados, entao trocar ou copiar
+ * identificadores nao cria buckets novos nem consome o de outro cliente.
+ */
+public abstract class ClientRateLimitAdvice {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientRateLimitAdvice.class);
+
+    static final String CLIENT_ID = "X-Client-Id";
+
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final ClientRateLimiter rateLimiter;
+
+    private final List<AddressRange> trustedProxies = new ArrayList<>();
+
+    protected ClientRateLimitAdvice(ClientRateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        for (String proxy : properties.getTrustedProxies()) {
+            trustedProxies.add(AddressRange.parse(proxy));
+        }
+        if (properties.isEnabled() && trustedProxies.isEmpty()) {
+            log.warn("Limite por cliente ativo sem dummyjson.rate-limit.trusted-proxies: atrás de um balanceador "
+                    + "todas as requisições compartilham o bucket do endereço do proxy");
+        }
+    }
+
+    protected void limit(String remoteAddress, String clientId, String forwardedFor) {
+        rateLimiter.acquire(client(remoteAddress, clientId, forwardedFor));
+    }
+
+    String client(String remoteAddress, String clientId, String forwardedFor) {
+        if (remoteAddress == null || remoteAddress.isBlank()) {
+            return "ip:unknown";
+        }
+        if (!isTrusted(remoteAddress)) {
+            return "ip:" + remoteAddress;
+        }
+        if (clientId != null && !clientId.isBlank()) {
+            return "id:" + clientId.trim();
+        }
+        String client = remoteAddress;
+        if (forwardedFor != null) {
+            String[] hops = forwardedFor.split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (hop.isEmpty()) {
+                    continue;
+                }
+                client = hop;
+                if (!isTrusted(hop)) {
+                    break;
+                }
+            }
+        }
+        return "ip:" + client;
+    }
+
+    private boolean isTrusted(String address) {
+        if (trustedProxies.isEmpty()) {
+            return false;
+        }
+        byte[] bytes = AddressRange.literal(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (AddressRange range : trustedProxies) {
+            if (range.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record AddressRange(byte[] network, int prefix) {
+
+        static AddressRange parse(String value) {
+            String trimmed = value.trim();
+            int slash = trimmed.indexOf('/');
+            byte[] network = literal(slash >= 0 ? trimmed.substring(0, slash) : trimmed);
+            if (network == null) {
+                throw new IllegalArgumentException("Proxy confiável inválido: " + value);
+            }
+            int prefix = slash >= 0 ? Integer.parseInt(trimmed.substring(slash + 1)) : network.length * 8;
+            return new AddressRange(network, prefix);
+        }
+
+        /**
+         * Bytes de um IP literal, ou {@code null} para qualquer outra coisa; nomes nunca sao resolvidos.
+         */
+        static byte[] literal(String address) {
+            if (address.indexOf(':') < 0) {
+                return ipv4(address);
+            }
+            // Com ':' o JDK trata o texto como IPv6 literal e nao consulta o DNS.
+            String host = address.startsWith("[") && address.endsWith("]")
+                    ? address.substring(1, address.length() - 1)
+                    : address;
+            try {
+                return InetAddress.getByName(host).getAddress();
+            } catch (UnknownHostException e) {
+                return null;
+            }
+        }
+
+        private static byte[] ipv4(String address) {
+            String[] parts = address.split("\\.", -1);
+            if (parts.length != 4) {
+                return null;
+            }
+            byte[] bytes = new byte[4];
+            for (int i = 0; i < 4; i++) {
+                if (parts[i].isEmpty() || parts[i].length() > 3 || !parts[i].chars().allMatch(Character::isDigit)) {
+                    return null;
+                }
+                int octet = Integer.parseInt(parts[i]);
+                if (octet > 255) {
+                    return null;
+                }
+                bytes[i] = (byte) octet;
+            }
+            return bytes;
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int bits = prefix;
+            for (int i = 0; i < address.length && bits > 0; i++, bits -= 8) {
+                int mask = bits >= 8 ? 0xFF : (0xFF << (8 - bits)) & 0xFF;
+                if ((address[i] & mask) != (network[i] & mask)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
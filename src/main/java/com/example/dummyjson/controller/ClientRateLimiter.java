@@ -0,0 +1,88 @@
+package com.example.dummyjson.controller;
+
+import com.example.dummyjson.config.RateLimitProperties;
+import com.example.dummyjson.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket por cliente: {@code requests-per-second} fichas por segundo, acumulando ate {@code burst}.
+ * Os buckets ficam em um cache limitado a {@code max-clients} e expiram depois de {@code idle-expiry}
+ * sem uso, entao clientes esporadicos nao acumulam memoria.
+ */
+@Component
+public class ClientRateLimiter {
+
+    private final RateLimitProperties properties;
+
+    private final Cache<String, Bucket> buckets;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Autowired
+    public ClientRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties);
+        FunctionCounter.builder("dummyjson.ratelimit.rejected", rejected, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("dummyjson.ratelimit.clients", buckets, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    public ClientRateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+    }
+
+    /**
+     * Consome uma ficha do cliente ou lanca {@link TooManyRequestsException} com o tempo ate a proxima.
+     */
+    public void acquire(String client) {
+        if (!properties.isEnabled() || client == null) {
+            return;
+        }
+        Bucket bucket = buckets.get(client, key -> new Bucket(properties.getBurst(), System.nanoTime()));
+        long waitNanos = bucket.tryConsume(properties.getRequestsPerSecond(), properties.getBurst(),
+                System.nanoTime());
+        if (waitNanos > 0) {
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Limite de requisições excedido para o cliente " + client,
+                    Duration.ofNanos(waitNanos));
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+
+        /**
+         * {@code 0} se a ficha foi consumida; senao, nanossegundos ate haver uma ficha.
+         */
+        synchronized long tryConsume(double perSecond, int burst, long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * perSecond / 1_000_000_000d);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * 1_000_000_000d / perSecond);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.dummyjson.controller;
+
+import com.example.dummyjson.config.ResponseCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Guarda o JSON ja codificado (e, acima de {@code gzip-min-size}, a versao gzip) das respostas do
+ * {@link ProductController}, junto com um ETag forte derivado do SHA-256 dos bytes. Enquanto o valor
+ * de uma chave nao muda, a resposta reaproveita os mesmos bytes; um {@code If-None-Match} que casa
+ * vira 304 sem serializar nada.
+ */
+@Component
+public class EncodedResponseCache {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+
+    private final ResponseCacheProperties properties;
+
+    private final Cache<Object, Encoded> cache;
+
+    public EncodedResponseCache(ObjectMapper objectMapper, ResponseCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .build();
+    }
+
+    /**
+     * Bytes de {@code value}, reaproveitados se a ultima codificacao de {@code key} foi de um valor igual.
+     * O valor fica guardado para essa comparacao e nao deve ser alterado depois.
+     */
+    public Encoded encode(Object key, Object value) {
+        if (!properties.isEnabled()) {
+            return write(value);
+        }
+        Encoded cached = cache.getIfPresent(key);
+        if (cached != null && cached.source.equals(value)) {
+            return cached;
+        }
+        Encoded encoded = write(value);
+        cache.put(key, encoded);
+        return encoded;
+    }
+
+    public ResponseEntity<byte[]> respond(Object key, Object value, String ifNoneMatch, String acceptEncoding) {
+        return encode(key, value).toResponse(ifNoneMatch, acceptEncoding);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private Encoded write(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            byte[] gzip = properties.isGzip() && json.length >= properties.getGzipMinSize() ? gzip(json) : null;
+            return new Encoded(value, json, gzip, digest(json));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String digest(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 27);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static final class Encoded {
+
+        private final Object source;
+
+        private final byte[] json;
+
+        private final byte[] gzip;
+
+        private final String etag;
+
+        private final String gzipEtag;
+
+        private Encoded(Object source, byte[] json, byte[] gzip, String digest) {
+            this.source = source;
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = "\"" + digest + "\"";
+            this.gzipEtag = "\"" + digest + "-gz\"";
+        }
+
+        public byte[] json() {
+            return json;
+        }
+
+        public byte[] gzip() {
+            return gzip;
+        }
+
+        public String etag() {
+            return etag;
+        }
+
+        /**
+         * 304 quando {@code If-None-Match} casa com o ETag da representacao que seria enviada para este
+         * {@code Accept-Encoding}; senao 200 com os bytes prontos, em gzip se o cliente aceitar e houver
+         * versao comprimida.
+         */
+        public ResponseEntity<byte[]> toResponse(String ifNoneMatch, String acceptEncoding) {
+            boolean compressed = gzip != null && accepts(acceptEncoding, GZIP);
+            String currentEtag = compressed ? gzipEtag : etag;
+            if (matches(ifNoneMatch, currentEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(currentEtag)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(currentEtag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (compressed) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                        .contentLength(gzip.length)
+                        .body(gzip);
+            }
+            return response.contentLength(json.length).body(json);
+        }
+
+        private static boolean matches(String ifNoneMatch, String currentEtag) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(currentEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean accepts(String acceptEncoding, String coding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            for (String candidate : acceptEncoding.split(",")) {
+                String[] parts = candidate.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase(coding)) {
+                    return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.dummyjson.controller;
 
 import com.example.dummyjson.dto.Product;
+import com.example.dummyjson.dto.ProductBatchResponse;
 import com.example.dummyjson.dto.ProductsResponse;
+import com.example.dummyjson.exception.InvalidProductDataException;
+import com.example.dummyjson.search.ProductPriceIndex;
+import com.example.dummyjson.search.ProductSearchIndex;
+import com.example.dummyjson.service.ProductBatchService;
 import com.example.dummyjson.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,16 +17,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Tag(
         name = "Produtos",
         description = "API para consulta de produtos"
@@ -31,10 +41,30 @@ import reactor.core.publisher.Mono;
 @RequestMapping("/api/products")
 public class ProductController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    private static final int DEFAULT_PRICE_LIMIT = 30;
+
+    private static final String ALL_PRODUCTS = "products";
+
     private final ProductService productService;
 
-    public ProductController(ProductService productService) {
+    private final ProductBatchService productBatchService;
+
+    private final ProductSearchIndex productSearchIndex;
+
+    private final ProductPriceIndex productPriceIndex;
+
+    private final EncodedResponseCache encodedResponses;
+
+    public ProductController(ProductService productService, ProductBatchService productBatchService,
+                             ProductSearchIndex productSearchIndex, ProductPriceIndex productPriceIndex,
+                             EncodedResponseCache encodedResponses) {
         this.productService = productService;
+        this.productBatchService = productBatchService;
+        this.productSearchIndex = productSearchIndex;
+        this.productPriceIndex = productPriceIndex;
+        this.encodedResponses = encodedResponses;
     }
 
     @Operation(
@@ -54,20 +84,221 @@ public class ProductController {
                     responseCode = "204",
                     description = "Nenhum produto encontrado",
                     content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Lista inalterada desde o ETag informado em If-None-Match",
+                    content = @Content
             )
     })
     @GetMapping
-    public Mono<ResponseEntity<Flux<ProductsResponse>>> getAllProducts() {
+    public Mono<ResponseEntity<byte[]>> getAllProducts(
+            @Parameter(description = "Preco minimo (inclusivo)", example = "10")
+            @RequestParam(required = false) Double minPrice,
+            @Parameter(description = "Preco maximo (inclusivo)", example = "500")
+            @RequestParam(required = false) Double maxPrice,
+            @Parameter(description = "Ordenacao por preco: price (crescente) ou -price (decrescente)",
+                    example = "price")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Quantidade maxima de produtos retornados", example = "30")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campos retornados por produto, separados por virgula (id sempre incluido)",
+                    example = "title,price")
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding
+    ) {
+        ProductProjection projection = ProductProjection.parse(fields);
+        if (limit != null && limit < 0) {
+            return Mono.error(new InvalidProductDataException("O limite deve ser positivo"));
+        }
+        // So os filtros e a ordenacao por preco mudam o recurso; limit apenas corta a pagina.
+        if (minPrice != null || maxPrice != null || sort != null) {
+            return getProductsByPrice(minPrice, maxPrice, sort, limit, projection, ifNoneMatch, acceptEncoding);
+        }
         return productService.getAllProducts()
+                .map(response -> limit != null ? firstProducts(response, limit) : response)
                 .collectList()
-                .flatMap(products -> {
+                .map(products -> {
                     if (products.isEmpty()) {
-                        return Mono.just(ResponseEntity.noContent().build());
+                        return ResponseEntity.noContent().build();
                     }
-                    return Mono.just(ResponseEntity.ok(Flux.fromIterable(products)));
+                    Object resource = limit != null ? new PageLimit(limit) : ALL_PRODUCTS;
+                    return encodedResponses.respond(new ResponseKey(resource, projection),
+                            products.stream().map(projection::apply).toList(), ifNoneMatch, acceptEncoding);
                 });
     }
 
+    private static ProductsResponse firstProducts(ProductsResponse response, int limit) {
+        List<Product> products = response.getProducts() != null ? response.getProducts() : List.of();
+        if (products.size() <= limit) {
+            return response;
+        }
+        ProductsResponse page = new ProductsResponse();
+        page.setProducts(products.subList(0, limit));
+        page.setTotal(response.getTotal());
+        page.setSkip(response.getSkip());
+        page.setLimit(limit);
+        return page;
+    }
+
+    private Mono<ResponseEntity<byte[]>> getProductsByPrice(Double minPrice, Double maxPrice, String sort,
+                                                           Integer limit, ProductProjection projection,
+                                                           String ifNoneMatch, String acceptEncoding) {
+        if (sort != null && !sort.equals("price") && !sort.equals("-price")) {
+            return Mono.error(new InvalidProductDataException("Ordenação suportada: price ou -price"));
+        }
+        double min = minPrice != null ? minPrice : Double.NEGATIVE_INFINITY;
+        double max = maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY;
+        boolean descending = "-price".equals(sort);
+        int pageLimit = limit != null ? limit : DEFAULT_PRICE_LIMIT;
+
+        // O indice e mantido pelo mirror ou pelo CatalogIndexRefresher; so antes da primeira carga ele
+        // e preenchido aqui, uma vez, com o catalogo atual.
+        Mono<Void> loaded = productPriceIndex.isEmpty()
+                ? productService.getCatalog().collectList().doOnNext(productPriceIndex::rebuild).then()
+                : Mono.empty();
+        Mono<ProductPriceIndex.Page> page = loaded
+                .then(Mono.fromSupplier(() -> productPriceIndex.range(min, max, descending, pageLimit)));
+
+        return page.map(result -> {
+            if (result.products().isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            ProductsResponse response = new ProductsResponse();
+            response.setProducts(result.products());
+            response.setTotal(result.total());
+            response.setSkip(0);
+            response.setLimit(result.products().size());
+            ResponseKey key = new ResponseKey(new PriceQuery(min, max, descending, pageLimit), projection);
+            return encodedResponses.respond(key, List.of(projection.apply(response)), ifNoneMatch, acceptEncoding);
+        });
+    }
+
+    @Operation(
+            summary = "Listar todos os produtos em streaming",
+            description = "Percorre o catalogo completo e envia cada produto assim que e decodificado, "
+                    + "em NDJSON ou Server-Sent Events. Fica em um caminho proprio porque devolve o catalogo "
+                    + "inteiro, enquanto /api/products devolve a primeira pagina"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Produtos enviados em streaming",
+                    content = {
+                            @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = Product.class)
+                            ),
+                            @Content(
+                                    mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = Product.class)
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Nenhum produto encontrado",
+                    content = @Content
+            )
+    })
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Mono<ResponseEntity<Flux<Object>>> streamAllProducts(
+            @Parameter(description = "Campos retornados por produto, separados por virgula (id sempre incluido)",
+                    example = "title,price")
+            @RequestParam(required = false) String fields
+    ) {
+        ProductProjection projection = ProductProjection.parse(fields);
+        // Só o primeiro elemento é inspecionado para decidir entre 200 e 204; o restante
+        // segue em streaming, sem acumular o catálogo em memória.
+        return productService.getCatalog()
+                .map(projection::apply)
+                .switchOnFirst((first, products) -> {
+                    if (first.isOnError()) {
+                        return Mono.error(first.getThrowable());
+                    }
+                    if (first.isOnComplete()) {
+                        return Mono.just(ResponseEntity.noContent().<Flux<Object>>build());
+                    }
+                    return Mono.just(ResponseEntity.ok(products));
+                }, false)
+                .singleOrEmpty();
+    }
+
+    @Operation(
+            summary = "Buscar varios produtos por ID",
+            description = "Resolve uma lista de IDs em uma unica chamada; IDs repetidos sao ignorados e "
+                    + "falhas individuais sao reportadas por ID sem invalidar o lote"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lote processado, possivelmente com erros parciais",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ProductBatchResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lista de IDs vazia ou acima do limite",
+                    content = @Content
+            )
+    })
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<ProductBatchResponse>> getProductsByIds(
+            @Parameter(
+                    description = "IDs dos produtos separados por virgula",
+                    required = true,
+                    example = "1,2,3"
+            )
+            @RequestParam List<Long> ids
+    ) {
+        return productBatchService.getProductsByIds(ids)
+                .map(ResponseEntity::ok);
+    }
+
+    @Operation(
+            summary = "Pesquisar produtos",
+            description = "Pesquisa textual por prefixo em titulo e descricao, respondida pelo indice local "
+                    + "construido a partir do snapshot do catalogo, sem chamadas ao DummyJSON"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Produtos ordenados por relevancia",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = Product.class, type = "array")
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Termo de pesquisa vazio",
+                    content = @Content
+            )
+    })
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<Object>>> searchProducts(
+            @Parameter(description = "Termos de pesquisa", required = true, example = "iphone")
+            @RequestParam("q") String query,
+            @Parameter(description = "Quantidade maxima de resultados", example = "10")
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Campos retornados por produto, separados por virgula (id sempre incluido)",
+                    example = "title,price")
+            @RequestParam(required = false) String fields
+    ) {
+        if (query.isBlank()) {
+            return Mono.error(new InvalidProductDataException("Informe um termo de pesquisa"));
+        }
+        ProductProjection projection = ProductProjection.parse(fields);
+        return Mono.just(ResponseEntity.ok(productSearchIndex.search(query, Math.min(limit, MAX_SEARCH_LIMIT)).stream()
+                .map(projection::apply)
+                .toList()));
+    }
+
     @Operation(
             summary = "Buscar produto por ID",
             description = "Recupera um produto específico pelo seu identificador único"
@@ -90,19 +321,42 @@ public class ProductController {
                                     value = "{\"error\": \"Produto com ID 1 não encontrado\"}"
                             )
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Produto inalterado desde o ETag informado em If-None-Match",
+                    content = @Content
             )
     })
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<Product>> getProductById(
+    public Mono<ResponseEntity<byte[]>> getProductById(
             @Parameter(
                     description = "ID do produto a ser buscado",
                     required = true,
                     example = "1"
             )
-            @PathVariable @NotNull Long id
+            @PathVariable @NotNull Long id,
+            @Parameter(description = "Campos retornados por produto, separados por virgula (id sempre incluido)",
+                    example = "title,price")
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding
     ) {
+        ProductProjection projection = ProductProjection.parse(fields);
         return productService.getProductById(id)
-                .map(ResponseEntity::ok)
+                .map(product -> encodedResponses.respond(new ResponseKey(id, projection), projection.apply(product),
+                        ifNoneMatch, acceptEncoding))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
+
+    private record PageLimit(int limit) {
+    }
+
+    private record PriceQuery(double minPrice, double maxPrice, boolean descending, int limit) {
+    }
+
+    private record ResponseKey(Object resource, ProductProjection projection) {
+    }
 }
@@ -0,0 +1,81 @@
+package com.example.dummyjson.controller;
+
+import com.example.dummyjson.dto.Product;
+import com.example.dummyjson.dto.ProductsResponse;
+import com.example.dummyjson.exception.InvalidProductDataException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Campos de {@link Product} escolhidos pelo cliente com {@code fields=}, no mesmo formato do {@code select}
+ * do DummyJSON. O {@code id} sempre e incluido; sem {@code fields} o produto sai inteiro.
+ */
+record ProductProjection(boolean title, boolean description, boolean price) {
+
+    static final ProductProjection ALL = new ProductProjection(true, true, true);
+
+    static ProductProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        boolean title = false;
+        boolean description = false;
+        boolean price = false;
+        for (String field : fields.split(",")) {
+            switch (field.trim().toLowerCase(Locale.ROOT)) {
+                case "id", "" -> { }
+                case "title" -> title = true;
+                case "description" -> description = true;
+                case "price" -> price = true;
+                default -> throw new InvalidProductDataException(
+                        "Campo não suportado: " + field.trim() + ". Use id, title, description ou price");
+            }
+        }
+        return new ProductProjection(title, description, price);
+    }
+
+    boolean isAll() {
+        return title && description && price;
+    }
+
+    Object apply(Product product) {
+        if (isAll()) {
+            return product;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>(4);
+        projected.put("id", product.getId());
+        if (title) {
+            projected.put("title", product.getTitle());
+        }
+        if (description) {
+            projected.put("description", product.getDescription());
+        }
+        if (price) {
+            projected.put("price", product.getPrice());
+        }
+        return projected;
+    }
+
+    Object apply(ProductsResponse response) {
+        if (isAll()) {
+            return response;
+        }
+        List<Object> products = null;
+        if (response.getProducts() != null) {
+            products = new ArrayList<>(response.getProducts().size());
+            for (Product product : response.getProducts()) {
+                products.add(apply(product));
+            }
+        }
+        Map<String, Object> projected = new LinkedHashMap<>(4);
+        projected.put("products", products);
+        projected.put("total", response.getTotal());
+        projected.put("skip", response.getSkip());
+        projected.put("limit", response.getLimit());
+        return projected;
+    }
+}
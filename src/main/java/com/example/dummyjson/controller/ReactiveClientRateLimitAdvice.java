@@ -0,0 +1,29 @@
+package com.example.dummyjson.controller;
+
+import com.example.dummyjson.config.RateLimitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.net.InetSocketAddress;
+
+@ControllerAdvice(assignableTypes = ProductController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveClientRateLimitAdvice extends ClientRateLimitAdvice {
+
+    public ReactiveClientRateLimitAdvice(ClientRateLimiter rateLimiter, RateLimitProperties properties) {
+        super(rateLimiter, properties);
+    }
+
+    @ModelAttribute
+    public void limitClient(ServerHttpRequest request,
+                            @RequestHeader(value = CLIENT_ID, required = false) String clientId,
+                            @RequestHeader(value = FORWARDED_FOR, required = false) String forwardedFor) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        String address = remote == null ? null
+                : remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+        limit(address, clientId, forwardedFor);
+    }
+}
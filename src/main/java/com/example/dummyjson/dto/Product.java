@@ -22,9 +22,6 @@ public class Product {
     @NotNull
     private Double price;
 
-    public Product(long l, String s, String s1, int i) {
-    }
-
     public Product() {
         
     }
@@ -76,6 +73,10 @@ public class Product {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, title, description, price);
+        int result = Objects.hashCode(id);
+        result = 31 * result + Objects.hashCode(title);
+        result = 31 * result + Objects.hashCode(description);
+        result = 31 * result + Objects.hashCode(price);
+        return result;
     }
 }
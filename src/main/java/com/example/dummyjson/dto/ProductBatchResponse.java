@@ -0,0 +1,29 @@
+package com.example.dummyjson.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProductBatchResponse {
+
+    private List<Product> products = new ArrayList<>();
+
+    private Map<Long, String> errors = new LinkedHashMap<>();
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<Product> products) {
+        this.products = products;
+    }
+
+    public Map<Long, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<Long, String> errors) {
+        this.errors = errors;
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.dummyjson.dto;
 
 import java.util.List;
+import java.util.Objects;
 
 public class ProductsResponse {
 
     private List<Product> products;
 
+    private Integer total;
+
+    private Integer skip;
+
+    private Integer limit;
+
     public List<Product> getProducts() {
         return products;
     }
@@ -13,4 +20,48 @@ public class ProductsResponse {
     public void setProducts(List<Product> products) {
         this.products = products;
     }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public Integer getSkip() {
+        return skip;
+    }
+
+    public void setSkip(Integer skip) {
+        this.skip = skip;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductsResponse that = (ProductsResponse) o;
+        return Objects.equals(products, that.products) &&
+                Objects.equals(total, that.total) &&
+                Objects.equals(skip, that.skip) &&
+                Objects.equals(limit, that.limit);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(products);
+        result = 31 * result + Objects.hashCode(total);
+        result = 31 * result + Objects.hashCode(skip);
+        result = 31 * result + Objects.hashCode(limit);
+        return result;
+    }
 }
@@ -1,5 +1,8 @@
 package com.example.dummyjson.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -9,21 +12,55 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final Counter productNotFound;
+
+    private final Counter serviceUnavailable;
+
+    private final Counter invalidProductData;
+
+    private final Counter tooManyRequests;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.productNotFound = errorCounter(meterRegistry, ProductNotFoundException.class);
+        this.serviceUnavailable = errorCounter(meterRegistry, ServiceUnavailableException.class);
+        this.invalidProductData = errorCounter(meterRegistry, InvalidProductDataException.class);
+        this.tooManyRequests = errorCounter(meterRegistry, TooManyRequestsException.class);
+    }
+
+    private static Counter errorCounter(MeterRegistry meterRegistry, Class<? extends RuntimeException> type) {
+        return Counter.builder("dummyjson.errors")
+                .description("Exceções tratadas pelo GlobalExceptionHandler")
+                .tag("exception", type.getSimpleName())
+                .register(meterRegistry);
+    }
+
     @ExceptionHandler(ProductNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<String> handleProductNotFound(ProductNotFoundException ex) {
+        productNotFound.increment();
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
     @ExceptionHandler(ServiceUnavailableException.class)
     @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
     public ResponseEntity<String> handleServiceUnavailable(ServiceUnavailableException ex) {
+        serviceUnavailable.increment();
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
     }
 
     @ExceptionHandler(InvalidProductDataException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleInvalidProductData(InvalidProductDataException ex) {
+        invalidProductData.increment();
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ResponseEntity<String> handleTooManyRequests(TooManyRequestsException ex) {
+        tooManyRequests.increment();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000)))
+                .body(ex.getMessage());
+    }
+}
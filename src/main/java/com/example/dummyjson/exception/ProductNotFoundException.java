@@ -1,7 +1,11 @@
 package com.example.dummyjson.exception;
 
+/**
+ * Sinal de produto inexistente, comum no caminho quente (IDs inventados por crawlers). Nao captura
+ * stack trace nem aceita excecoes suprimidas, de modo que criar uma instancia custa so a mensagem.
+ */
 public class ProductNotFoundException extends RuntimeException {
     public ProductNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
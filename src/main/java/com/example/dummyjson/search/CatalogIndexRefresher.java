@@ -0,0 +1,75 @@
+package com.example.dummyjson.search;
+
+import com.example.dummyjson.catalog.CatalogSnapshot;
+import com.example.dummyjson.catalog.ProductIdFilter;
+import com.example.dummyjson.config.MirrorProperties;
+import com.example.dummyjson.dto.Product;
+import com.example.dummyjson.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Com o mirror desligado nenhum {@code CatalogChangedEvent} e publicado, entao os indices locais e o
+ * {@link ProductIdFilter} seriam sempre vazios. Este componente busca o catalogo na partida e a cada
+ * {@code dummyjson.mirror.refresh-interval} e reconstroi todos a partir dele, sem alterar o caminho de leitura
+ * dos demais endpoints.
+ */
+@Component
+@ConditionalOnProperty(prefix = "dummyjson.mirror", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class CatalogIndexRefresher implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogIndexRefresher.class);
+
+    private final ProductService productService;
+
+    private final ProductSearchIndex productSearchIndex;
+
+    private final ProductPriceIndex productPriceIndex;
+
+    private final ProductIdFilter productIdFilter;
+
+    private final MirrorProperties properties;
+
+    public CatalogIndexRefresher(ProductService productService, ProductSearchIndex productSearchIndex,
+                                 ProductPriceIndex productPriceIndex, ProductIdFilter productIdFilter,
+                                 MirrorProperties properties) {
+        this.productService = productService;
+        this.productSearchIndex = productSearchIndex;
+        this.productPriceIndex = productPriceIndex;
+        this.productIdFilter = productIdFilter;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::refresh, properties.getRefreshInterval(),
+                Duration.ZERO));
+    }
+
+    public void refresh() {
+        try {
+            List<Product> catalog = productService.getCatalog()
+                    .collectList()
+                    .block(properties.getRefreshTimeout());
+            if (catalog != null) {
+                CatalogSnapshot snapshot = new CatalogSnapshot(catalog, Instant.now());
+                // Sem snapshot anterior o indice aplica a diferenca sobre o que ja tem, sem ficar vazio no meio.
+                productSearchIndex.update(null, snapshot);
+                productPriceIndex.rebuild(snapshot);
+                productIdFilter.rebuild(snapshot);
+                log.info("Índices do catálogo atualizados com {} produtos", catalog.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar os índices do catálogo: {}", e.getMessage());
+        }
+    }
+}
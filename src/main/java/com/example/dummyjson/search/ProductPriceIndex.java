@@ -0,0 +1,132 @@
+package com.example.dummyjson.search;
+
+import com.example.dummyjson.catalog.CatalogChangedEvent;
+import com.example.dummyjson.catalog.CatalogSnapshot;
+import com.example.dummyjson.catalog.CompactProduct;
+import com.example.dummyjson.dto.Product;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Indice de precos em arrays primitivos paralelos e ordenados ({@code double[]} precos e {@code long[]} ids).
+ * Uma faixa de preco e resolvida com duas buscas binarias e um recorte; so os produtos da pagina
+ * retornada sao buscados no {@link CatalogSnapshot} e montados.
+ */
+@Component
+public class ProductPriceIndex implements ApplicationListener<CatalogChangedEvent> {
+
+    private volatile Sorted sorted = Sorted.EMPTY;
+
+    @Override
+    public void onApplicationEvent(CatalogChangedEvent event) {
+        rebuild(event.getCurrent());
+    }
+
+    public void rebuild(Collection<Product> catalog) {
+        rebuild(new CatalogSnapshot(catalog, Instant.now()));
+    }
+
+    public void rebuild(CatalogSnapshot catalog) {
+        sorted = Sorted.of(catalog);
+    }
+
+    public boolean isEmpty() {
+        return sorted.prices.length == 0;
+    }
+
+    public int size() {
+        return sorted.prices.length;
+    }
+
+    public Page range(double minPrice, double maxPrice, boolean descending, int limit) {
+        return sorted.range(minPrice, maxPrice, descending, limit);
+    }
+
+    public record Page(List<Product> products, int total) {
+    }
+
+    private static final class Sorted {
+
+        private static final Sorted EMPTY = new Sorted(new double[0], new long[0], null);
+
+        private final double[] prices;
+
+        private final long[] ids;
+
+        private final CatalogSnapshot catalog;
+
+        private Sorted(double[] prices, long[] ids, CatalogSnapshot catalog) {
+            this.prices = prices;
+            this.ids = ids;
+            this.catalog = catalog;
+        }
+
+        static Sorted of(CatalogSnapshot catalog) {
+            List<CompactProduct> priced = new ArrayList<>(catalog.size());
+            for (CompactProduct product : catalog.compactProducts()) {
+                if (product.hasId() && product.hasPrice()) {
+                    priced.add(product);
+                }
+            }
+            priced.sort((left, right) -> {
+                int byPrice = Double.compare(left.price(), right.price());
+                return byPrice != 0 ? byPrice : Long.compare(left.id(), right.id());
+            });
+            double[] prices = new double[priced.size()];
+            long[] ids = new long[priced.size()];
+            for (int i = 0; i < priced.size(); i++) {
+                prices[i] = priced.get(i).price();
+                ids[i] = priced.get(i).id();
+            }
+            return new Sorted(prices, ids, catalog);
+        }
+
+        Page range(double minPrice, double maxPrice, boolean descending, int limit) {
+            int from = lowerBound(minPrice);
+            int to = upperBound(maxPrice);
+            int total = Math.max(0, to - from);
+            int count = Math.min(total, Math.max(0, limit));
+            List<Product> page = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int position = descending ? to - 1 - i : from + i;
+                page.add(catalog.get(ids[position]));
+            }
+            return new Page(page, total);
+        }
+
+        // Primeira posicao com preco >= value.
+        private int lowerBound(double value) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Primeira posicao com preco > value.
+        private int upperBound(double value) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.dummyjson.search;
+
+import com.example.dummyjson.catalog.CatalogChangedEvent;
+import com.example.dummyjson.catalog.CatalogSnapshot;
+import com.example.dummyjson.catalog.CompactProduct;
+import com.example.dummyjson.dto.Product;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Indice invertido em memoria sobre {@code title} e {@code description}. Cada termo da
+ * consulta casa por prefixo; o produto precisa conter todos os termos e o ranking soma
+ * o peso do campo (titulo vale mais) ponderado pelo idf do termo.
+ */
+@Component
+public class ProductSearchIndex implements ApplicationListener<CatalogChangedEvent> {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final float TITLE_WEIGHT = 3f;
+
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final float PREFIX_PENALTY = 0.5f;
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, CompactProduct> products = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<String>> termsByProduct = new ConcurrentHashMap<>();
+
+    @Override
+    public void onApplicationEvent(CatalogChangedEvent event) {
+        update(event.getPrevious(), event.getCurrent());
+    }
+
+    /**
+     * Aplica apenas a diferenca entre os dois snapshots: produtos removidos saem do indice e
+     * somente os novos ou alterados sao reindexados.
+     */
+    public synchronized void update(CatalogSnapshot previous, CatalogSnapshot current) {
+        if (previous == null) {
+            Set<Long> stale = new HashSet<>(products.keySet());
+            current.compactProducts().forEach(product -> stale.remove(product.id()));
+            stale.forEach(this::remove);
+        } else {
+            for (CompactProduct product : previous.compactProducts()) {
+                if (!current.contains(product.id())) {
+                    remove(product.id());
+                }
+            }
+        }
+        for (CompactProduct product : current.compactProducts()) {
+            if (!product.equals(products.get(product.id()))) {
+                index(product);
+            }
+        }
+    }
+
+    public synchronized void rebuild(Collection<Product> catalog) {
+        postings.clear();
+        products.clear();
+        termsByProduct.clear();
+        catalog.forEach(product -> index(CompactProduct.of(product)));
+    }
+
+    public List<Product> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Float> scores = null;
+        int documents = Math.max(1, products.size());
+        for (String queryTerm : new HashSet<>(queryTerms)) {
+            Map<Long, Float> termScores = new HashMap<>();
+            for (Map.Entry<String, Map<Long, Float>> entry : postings.subMap(queryTerm, true,
+                    queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                Map<Long, Float> docs = entry.getValue();
+                float idf = (float) Math.log(1 + (double) documents / Math.max(1, docs.size()));
+                float factor = entry.getKey().equals(queryTerm) ? idf : idf * PREFIX_PENALTY;
+                docs.forEach((id, weight) -> termScores.merge(id, weight * factor, Float::sum));
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                    entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                }
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        // Mantem apenas os "limit" melhores em um heap, sem ordenar todos os candidatos.
+        Comparator<Map.Entry<Long, Float>> ranking = Map.Entry.<Long, Float>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Float>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Float>> top = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, ranking);
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            if (top.size() < limit) {
+                top.add(entry);
+            } else if (ranking.compare(entry, top.peek()) > 0) {
+                top.poll();
+                top.add(entry);
+            }
+        }
+
+        CompactProduct[] results = new CompactProduct[top.size()];
+        for (int i = results.length - 1; i >= 0; i--) {
+            results[i] = products.get(top.poll().getKey());
+        }
+        List<Product> ranked = new ArrayList<>(results.length);
+        for (CompactProduct product : results) {
+            if (product != null) {
+                ranked.add(product.toProduct());
+            }
+        }
+        return ranked;
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    public int terms() {
+        return postings.size();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void index(CompactProduct product) {
+        if (!product.hasId()) {
+            return;
+        }
+        Long id = product.id();
+        remove(id);
+        Map<String, Float> weights = new HashMap<>();
+        tokenize(product.title()).forEach(term -> weights.merge(term, TITLE_WEIGHT, Float::sum));
+        tokenize(product.description()).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Float::sum));
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>())
+                .put(id, weight));
+        termsByProduct.put(id, weights.keySet());
+        products.put(id, product);
+    }
+
+    private void remove(Long id) {
+        Set<String> terms = termsByProduct.remove(id);
+        if (terms != null) {
+            for (String term : terms) {
+                postings.computeIfPresent(term, (t, docs) -> {
+                    docs.remove(id);
+                    return docs.isEmpty() ? null : docs;
+                });
+            }
+        }
+        products.remove(id);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.dummyjson.service;
+
+import com.example.dummyjson.config.BatchProperties;
+import com.example.dummyjson.dto.Product;
+import com.example.dummyjson.dto.ProductBatchResponse;
+import com.example.dummyjson.exception.InvalidProductDataException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+public class ProductBatchService {
+
+    private final ProductService productService;
+
+    private final BatchProperties batchProperties;
+
+    public ProductBatchService(ProductService productService, BatchProperties batchProperties) {
+        this.productService = productService;
+        this.batchProperties = batchProperties;
+    }
+
+    public Mono<ProductBatchResponse> getProductsByIds(Collection<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.isEmpty()) {
+            return Mono.error(new InvalidProductDataException("Informe ao menos um ID de produto"));
+        }
+        if (uniqueIds.size() > batchProperties.getMaxIds()) {
+            return Mono.error(new InvalidProductDataException(
+                    "Quantidade máxima de IDs por requisição é " + batchProperties.getMaxIds()));
+        }
+
+        return Flux.fromIterable(uniqueIds)
+                .flatMapSequential(this::lookup, batchProperties.getConcurrency())
+                .collect(ProductBatchResponse::new, (response, result) -> {
+                    if (result.product() != null) {
+                        response.getProducts().add(result.product());
+                    } else {
+                        response.getErrors().put(result.id(), result.error());
+                    }
+                });
+    }
+
+    private Mono<Result> lookup(Long id) {
+        return productService.getProductById(id)
+                .map(product -> new Result(id, product, null))
+                .defaultIfEmpty(new Result(id, null, "Produto não encontrado com o ID: " + id))
+                .onErrorResume(e -> Mono.just(new Result(id, null,
+                        Objects.requireNonNullElse(e.getMessage(), "Falha ao recuperar o produto"))));
+    }
+
+    private record Result(Long id, Product product, String error) {
+    }
+}
@@ -1,44 +1,273 @@
 package com.example.dummyjson.service;
 
+import com.example.dummyjson.cache.HotProductTracker;
+import com.example.dummyjson.cache.ProductCache;
+import com.example.dummyjson.catalog.CatalogMirror;
+import com.example.dummyjson.catalog.CatalogSnapshot;
+import com.example.dummyjson.catalog.ProductIdFilter;
+import com.example.dummyjson.config.CatalogProperties;
 import com.example.dummyjson.dto.Product;
 import com.example.dummyjson.dto.ProductsResponse;
 import com.example.dummyjson.exception.ProductNotFoundException;
 import com.example.dummyjson.exception.ServiceUnavailableException;
+import com.example.dummyjson.upstream.ProductPageDecoder;
+import com.example.dummyjson.upstream.UpstreamExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Service
 public class ProductService {
 
+    private static final Logger log = LoggerFactory.getLogger(ProductService.class);
+
+    /**
+     * Campos de {@link Product} pedidos ao DummyJSON via {@code select}; o {@code id} sempre vem na resposta.
+     * Imagens, avaliacoes, dimensoes e demais campos nao usados deixam de trafegar e de ser decodificados.
+     */
+    public static final String UPSTREAM_FIELDS = "title,description,price";
+
+    /**
+     * Tamanho da pagina que o DummyJSON devolve em {@code /products} sem {@code limit}; o snapshot responde
+     * com o mesmo recorte para que ligar o mirror nao mude o corpo de {@code /api/products}.
+     */
+    static final int DEFAULT_PAGE_SIZE = 30;
+
     private final WebClient webClient;
 
-    public ProductService(WebClient webClient) {
+    private final ProductPageDecoder pageDecoder;
+
+    private final ProductCache productCache;
+
+    private final CatalogProperties catalogProperties;
+
+    private final CatalogMirror catalogMirror;
+
+    private final UpstreamExecutor upstreamExecutor;
+
+    private final ProductIdFilter idFilter;
+
+    private final HotProductTracker hotProducts;
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    public ProductService(WebClient webClient, ProductPageDecoder pageDecoder, ProductCache productCache,
+                          CatalogProperties catalogProperties, CatalogMirror catalogMirror,
+                          UpstreamExecutor upstreamExecutor, ProductIdFilter idFilter, HotProductTracker hotProducts) {
         this.webClient = webClient;
+        this.pageDecoder = pageDecoder;
+        this.productCache = productCache;
+        this.catalogProperties = catalogProperties;
+        this.catalogMirror = catalogMirror;
+        this.upstreamExecutor = upstreamExecutor;
+        this.idFilter = idFilter;
+        this.hotProducts = hotProducts;
     }
 
     public Flux<ProductsResponse> getAllProducts() {
+        return Flux.defer(() -> {
+            CatalogSnapshot snapshot = catalogMirror.serving();
+            if (snapshot != null) {
+                return Flux.just(toResponse(snapshot));
+            }
+            return coalescer.flux("products", this::fetchAllProducts);
+        });
+    }
+
+    private ProductsResponse toResponse(CatalogSnapshot snapshot) {
+        List<Product> page = snapshot.products().subList(0, Math.min(DEFAULT_PAGE_SIZE, snapshot.size()));
+        ProductsResponse response = new ProductsResponse();
+        response.setProducts(page);
+        response.setTotal(snapshot.size());
+        response.setSkip(0);
+        response.setLimit(page.size());
+        return response;
+    }
+
+    private Flux<ProductsResponse> fetchAllProducts() {
+        return upstreamExecutor.execute("getAllProducts", this::requestAllProducts)
+                .flux()
+                .onErrorResume(e -> Flux.error(new ServiceUnavailableException("Falha ao recuperar os produtos")));
+    }
+
+    private Mono<ProductsResponse> requestAllProducts() {
         return webClient.get()
-                .uri("/products")
+                .uri("/products?select={select}", UPSTREAM_FIELDS)
                 .retrieve()
                 .onStatus(status -> status.is4xxClientError(),
                         response -> Mono.error(new ServiceUnavailableException("Requisição inválida")))
                 .onStatus(status -> status.is5xxServerError(),
                         response -> Mono.error(new ServiceUnavailableException("Serviço DummyJSON indisponível")))
-                .bodyToFlux(ProductsResponse.class)
+                .bodyToMono(ProductsResponse.class);
+    }
+
+    /**
+     * Le o catalogo completo: a primeira pagina informa o {@code total} e as paginas
+     * restantes sao buscadas em paralelo, limitadas por {@code dummyjson.catalog.concurrency}.
+     */
+    public Flux<Product> getCatalog() {
+        return Flux.defer(() -> {
+            CatalogSnapshot snapshot = catalogMirror.serving();
+            if (snapshot != null) {
+                return Flux.fromIterable(snapshot.products());
+            }
+            return getUpstreamCatalog();
+        });
+    }
+
+    /**
+     * Sempre le o catalogo do DummyJSON, ignorando o snapshot local; usado para atualiza-lo.
+     */
+    public Flux<Product> getUpstreamCatalog() {
+        return coalescer.flux("catalog", this::fetchCatalog);
+    }
+
+    private Flux<Product> fetchCatalog() {
+        int pageSize = catalogProperties.getPageSize();
+        return streamPage(0, pageSize).concatMap(element -> element.isProduct()
+                ? Mono.just(element.product())
+                : remainingPages(element.total(), pageSize));
+    }
+
+    private Flux<Product> remainingPages(Integer total, int pageSize) {
+        int remainingPages = Math.max(0, ((total != null ? total : 0) - 1) / pageSize);
+        Flux<Integer> skips = Flux.range(1, remainingPages).map(page -> page * pageSize);
+        return catalogProperties.isOrdered()
+                ? skips.flatMapSequential(skip -> pageProducts(skip, pageSize), catalogProperties.getConcurrency())
+                : skips.flatMap(skip -> pageProducts(skip, pageSize), catalogProperties.getConcurrency());
+    }
+
+    private Flux<Product> pageProducts(int skip, int limit) {
+        return streamPage(skip, limit)
+                .filter(ProductPageDecoder.PageElement::isProduct)
+                .map(ProductPageDecoder.PageElement::product);
+    }
+
+    /**
+     * Produtos de uma pagina, emitidos conforme o corpo chega. As politicas de upstream (retry,
+     * circuito, metricas) valem ate a chegada dos cabecalhos; uma falha no meio do corpo nao e
+     * repetida, para nao duplicar produtos ja emitidos.
+     */
+    private Flux<ProductPageDecoder.PageElement> streamPage(int skip, int limit) {
+        return upstreamExecutor.execute("getCatalogPage", () -> requestPage(skip, limit))
+                .flatMapMany(response -> pageDecoder.decode(response.getBody()))
                 .onErrorResume(e -> Flux.error(new ServiceUnavailableException("Falha ao recuperar os produtos")));
     }
 
+    private Mono<ResponseEntity<Flux<DataBuffer>>> requestPage(int skip, int limit) {
+        return webClient.get()
+                .uri("/products?limit={limit}&skip={skip}&select={select}", limit, skip, UPSTREAM_FIELDS)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError(),
+                        response -> Mono.error(new ServiceUnavailableException("Requisição inválida")))
+                .onStatus(status -> status.is5xxServerError(),
+                        response -> Mono.error(new ServiceUnavailableException("Serviço DummyJSON indisponível")))
+                .toEntityFlux(DataBuffer.class);
+    }
+
     public Mono<Product> getProductById(Long id) {
+        return Mono.defer(() -> {
+            hotProducts.record(id);
+            CatalogSnapshot snapshot = catalogMirror.serving();
+            if (snapshot != null) {
+                Product mirrored = snapshot.get(id);
+                if (mirrored != null) {
+                    return Mono.just(mirrored);
+                }
+                if (!catalogMirror.isFallbackOnMiss()) {
+                    return Mono.error(notFound(id));
+                }
+            }
+            if (idFilter.rejects(id) || productCache.isKnownMissing(id)) {
+                return Mono.error(notFound(id));
+            }
+            ProductCache.Lookup cached = productCache.lookup(id);
+            if (cached != null && cached.isFresh()) {
+                return Mono.just(cached.product());
+            }
+            if (cached != null && cached.isRevalidatable()) {
+                productCache.recordStaleRevalidation();
+                revalidate(id);
+                return Mono.just(cached.product());
+            }
+            Mono<Product> live = loadProductById(id);
+            if (cached == null) {
+                return live;
+            }
+            return live.onErrorResume(ServiceUnavailableException.class, e -> {
+                productCache.recordStaleOnError();
+                return Mono.just(cached.product());
+            });
+        });
+    }
+
+    private Mono<Product> loadProductById(Long id) {
+        return coalescer.mono(id, () -> fetchProductById(id)
+                .doOnNext(product -> productCache.put(id, product))
+                .doOnError(ProductNotFoundException.class, e -> productCache.putMissing(id)));
+    }
+
+    /**
+     * Busca o produto no DummyJSON e o grava no cache, sem contar como leitura para o
+     * {@link HotProductTracker}. Nao faz nada quando o snapshot local ja tem o ID ou ele sabidamente
+     * nao existe.
+     */
+    public Mono<Product> prefetch(Long id) {
+        return Mono.defer(() -> {
+            CatalogSnapshot snapshot = catalogMirror.serving();
+            if (snapshot != null && (snapshot.contains(id) || !catalogMirror.isFallbackOnMiss())) {
+                return Mono.empty();
+            }
+            if (idFilter.rejects(id) || productCache.isKnownMissing(id)) {
+                return Mono.empty();
+            }
+            return loadProductById(id);
+        });
+    }
+
+    /**
+     * Atualiza em segundo plano uma entrada vencida do cache. Leituras concorrentes do mesmo ID
+     * compartilham a mesma chamada pelo {@link RequestCoalescer}.
+     */
+    private void revalidate(Long id) {
+        loadProductById(id).subscribe(
+                product -> { },
+                e -> {
+                    if (!(e instanceof ProductNotFoundException)) {
+                        log.warn("Falha ao revalidar o produto {}: {}", id, e.getMessage());
+                    }
+                });
+    }
+
+    private Mono<Product> fetchProductById(Long id) {
+        return upstreamExecutor.executeHedged("getProductById", () -> requestProductById(id))
+                .onErrorResume(e -> !(e instanceof ProductNotFoundException || e instanceof ServiceUnavailableException),
+                        e -> Mono.error(new ServiceUnavailableException("Falha ao recuperar o produto")));
+    }
+
+    private Mono<Product> requestProductById(Long id) {
         return webClient.get()
-                .uri("/products/{id}", id)
+                .uri("/products/{id}?select={select}", id, UPSTREAM_FIELDS)
                 .retrieve()
+                // So o 404 vira ausencia (e entra no cache negativo); outro 4xx, como 429, nao diz nada sobre o ID.
+                .onStatus(status -> status.isSameCodeAs(HttpStatus.NOT_FOUND),
+                        response -> Mono.error(notFound(id)))
                 .onStatus(status -> status.is4xxClientError(),
-                        response -> Mono.error(new ProductNotFoundException("Produto não encontrado com o ID: " + id)))
+                        response -> Mono.error(new ServiceUnavailableException("Requisição recusada pelo DummyJSON")))
                 .onStatus(status -> status.is5xxServerError(),
                         response -> Mono.error(new ServiceUnavailableException("Serviço DummyJSON indisponível")))
-                .bodyToMono(Product.class)
-                .onErrorResume(e -> Mono.error(new ServiceUnavailableException("Falha ao recuperar o produto")));
+                .bodyToMono(Product.class);
+    }
+
+    private static ProductNotFoundException notFound(Long id) {
+        return new ProductNotFoundException("Produto não encontrado com o ID: " + id);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.example.dummyjson.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa requisicoes identicas em andamento: assinantes concorrentes da mesma chave
+ * compartilham uma unica chamada ao upstream e recebem o mesmo resultado ou erro.
+ */
+public class RequestCoalescer {
+
+    private final Map<Object, Mono<?>> inFlightMonos = new ConcurrentHashMap<>();
+
+    private final Map<Object, Flux<?>> inFlightFluxes = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> mono(Object key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> (Mono<T>) inFlightMonos.computeIfAbsent(key, k -> loader.get()
+                .doFinally(signal -> inFlightMonos.remove(k))
+                .cache()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> flux(Object key, Supplier<Flux<T>> loader) {
+        return Flux.defer(() -> (Flux<T>) inFlightFluxes.computeIfAbsent(key, k -> loader.get()
+                .doFinally(signal -> inFlightFluxes.remove(k))
+                .cache()));
+    }
+
+    public int inFlight() {
+        return inFlightMonos.size() + inFlightFluxes.size();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.config.ConcurrencyLimitProperties;
+import com.example.dummyjson.exception.ProductNotFoundException;
+import com.example.dummyjson.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite adaptativo de chamadas simultaneas ao DummyJSON, no estilo do Gradient2 do Netflix
+ * concurrency-limits. Uma media movel longa da latencia serve de referencia; quando a latencia da
+ * chamada passa dela (com tolerancia {@code rtt-tolerance}) o limite encolhe proporcionalmente, e
+ * enquanto ela se mantem o limite cresce por {@code sqrt(limite)}. Falhas de upstream reduzem o limite
+ * multiplicativamente ({@code backoff-ratio}). Acima do limite a chamada e recusada na hora com
+ * {@link ServiceUnavailableException}, sem entrar na fila.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double limit;
+
+    private double longRttNanos;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties);
+        Gauge.builder("dummyjson.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("dummyjson.concurrency.inflight", inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+        FunctionCounter.builder("dummyjson.concurrency.rejected", rejected, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    public <T> Mono<T> limit(Mono<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            int current = tryAcquire();
+            if (current < 0) {
+                rejected.incrementAndGet();
+                return Mono.error(new ServiceUnavailableException(
+                        "Limite de concorrência para o DummyJSON atingido"));
+            }
+            long start = System.nanoTime();
+            AtomicBoolean dropped = new AtomicBoolean();
+            return call
+                    .doOnError(e -> dropped.set(isUpstreamFailure(e)))
+                    .doFinally(signal -> {
+                        inFlight.decrementAndGet();
+                        if (signal != SignalType.CANCEL) {
+                            onSample(System.nanoTime() - start, current, dropped.get());
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Erros que indicam sobrecarga do DummyJSON. Produto inexistente e recusas locais do circuito aberto ou
+     * do bulkhead cheio nao dizem nada sobre a latencia do upstream e nao reduzem o limite.
+     */
+    static boolean isUpstreamFailure(Throwable e) {
+        return !(e instanceof ProductNotFoundException
+                || e instanceof CallNotPermittedException
+                || e instanceof BulkheadFullException);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Reserva uma vaga e devolve quantas chamadas ja estavam em andamento, ou {@code -1} se o limite
+     * foi atingido.
+     */
+    private int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        double current = limit;
+        double next;
+        if (dropped) {
+            next = current * properties.getBackoffRatio();
+        } else {
+            longRttNanos = longRttNanos == 0
+                    ? rttNanos
+                    : longRttNanos + (rttNanos - longRttNanos) / properties.getLongWindow();
+            // Com poucas chamadas em andamento o limite nao e o gargalo; crescer aqui so o inflaria.
+            if (inFlightAtStart < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0,
+                    properties.getRttTolerance() * longRttNanos / Math.max(1, rttNanos)));
+            double target = current * gradient + Math.sqrt(current);
+            next = current * (1 - properties.getSmoothing()) + target * properties.getSmoothing();
+        }
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), next));
+    }
+}
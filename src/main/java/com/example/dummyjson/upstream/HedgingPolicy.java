@@ -0,0 +1,156 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.config.HedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Requisicoes "hedged": se a primeira chamada nao responder dentro do percentil configurado
+ * da latencia recente, uma segunda chamada identica e disparada e vence quem responder
+ * primeiro com sucesso; a perdedora e cancelada. O erro so e devolvido quando nao ha outra chamada
+ * que ainda possa responder. Um orcamento limita os hedges a uma fracao das chamadas.
+ */
+@Component
+public class HedgingPolicy {
+
+    private static final long MILLI_TOKENS = 1000;
+
+    private final HedgingProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    private final Object budgetLock = new Object();
+
+    private long budgetMilliTokens;
+
+    @Autowired
+    public HedgingPolicy(HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.budgetMilliTokens = (long) (properties.getMaxBudgetTokens() * MILLI_TOKENS);
+    }
+
+    public static HedgingPolicy disabled() {
+        return new HedgingPolicy(new HedgingProperties(), new SimpleMeterRegistry());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public <T> Mono<T> execute(String operation, Supplier<Mono<T>> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            LatencyWindow window = window(operation);
+            deposit();
+            Duration delay = hedgeDelay(window);
+            HedgeRace race = new HedgeRace();
+
+            Mono<T> primary = timed(call, window)
+                    .onErrorResume(race::primaryFailed);
+            Mono<T> hedge = Mono.delay(delay)
+                    .flatMap(tick -> {
+                        if (!tryAcquire()) {
+                            counter("dummyjson.upstream.hedge.skipped", operation).increment();
+                            return Mono.never();
+                        }
+                        race.hedgeFired();
+                        counter("dummyjson.upstream.hedge.fired", operation).increment();
+                        return timed(call, window)
+                                .doOnNext(value -> counter("dummyjson.upstream.hedge.won", operation).increment())
+                                .onErrorResume(race::hedgeFailed);
+                    });
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    Duration hedgeDelay(LatencyWindow window) {
+        if (window.count() < properties.getMinSamples()) {
+            return properties.getInitialDelay();
+        }
+        long nanos = window.percentileNanos(properties.getPercentile());
+        long min = properties.getMinDelay().toNanos();
+        long max = properties.getMaxDelay().toNanos();
+        return Duration.ofNanos(Math.max(min, Math.min(max, nanos)));
+    }
+
+    /**
+     * Registra a latencia em qualquer desfecho. Sem os erros e as chamadas canceladas ao perder a corrida,
+     * que sao justamente as lentas, o percentil escorregaria para a cauda rapida e os hedges disparariam
+     * cada vez mais cedo; para a perdedora o tempo registrado e um limite inferior.
+     */
+    private <T> Mono<T> timed(Supplier<Mono<T>> call, LatencyWindow window) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.get().doFinally(signal -> window.record(System.nanoTime() - start));
+        });
+    }
+
+    LatencyWindow window(String operation) {
+        return windows.computeIfAbsent(operation, key ->
+                new LatencyWindow(properties.getWindowSize(), TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private void deposit() {
+        long credit = (long) (properties.getBudgetPercent() / 100 * MILLI_TOKENS);
+        long max = (long) (properties.getMaxBudgetTokens() * MILLI_TOKENS);
+        synchronized (budgetLock) {
+            budgetMilliTokens = Math.min(max, budgetMilliTokens + credit);
+        }
+    }
+
+    private boolean tryAcquire() {
+        synchronized (budgetLock) {
+            if (budgetMilliTokens < MILLI_TOKENS) {
+                return false;
+            }
+            budgetMilliTokens -= MILLI_TOKENS;
+            return true;
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return meterRegistry.counter(name, "operation", operation);
+    }
+
+    /**
+     * Estado de uma corrida entre a chamada primaria e o hedge. Um erro de um lado nao encerra a corrida
+     * enquanto o outro ainda pode responder; ele fica guardado e so e propagado se o outro tambem falhar.
+     */
+    private static final class HedgeRace {
+
+        private boolean hedgeInFlight;
+
+        private Throwable primaryError;
+
+        synchronized void hedgeFired() {
+            hedgeInFlight = true;
+        }
+
+        synchronized <T> Mono<T> primaryFailed(Throwable error) {
+            if (hedgeInFlight) {
+                primaryError = error;
+                return Mono.never();
+            }
+            return Mono.error(error);
+        }
+
+        synchronized <T> Mono<T> hedgeFailed(Throwable error) {
+            hedgeInFlight = false;
+            return primaryError != null ? Mono.error(primaryError) : Mono.never();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.dummyjson.upstream;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Janela circular com as ultimas latencias observadas. O percentil e recalculado no
+ * maximo uma vez por {@code refreshNanos}, para nao ordenar a janela a cada requisicao.
+ */
+public class LatencyWindow {
+
+    private final AtomicLongArray samples;
+
+    private final AtomicLong recorded = new AtomicLong();
+
+    private final long refreshNanos;
+
+    private volatile long cachedPercentileNanos = -1;
+
+    private volatile double cachedPercentile = -1;
+
+    private volatile long computedAt;
+
+    public LatencyWindow(int size, long refreshNanos) {
+        this.samples = new AtomicLongArray(size);
+        this.refreshNanos = refreshNanos;
+    }
+
+    public void record(long nanos) {
+        long position = recorded.getAndIncrement();
+        samples.set((int) (position % samples.length()), nanos);
+    }
+
+    public long count() {
+        return Math.min(recorded.get(), samples.length());
+    }
+
+    public long percentileNanos(double percentile) {
+        long now = System.nanoTime();
+        if (cachedPercentile == percentile && cachedPercentileNanos >= 0 && now - computedAt < refreshNanos) {
+            return cachedPercentileNanos;
+        }
+        int filled = (int) count();
+        if (filled == 0) {
+            return -1;
+        }
+        long[] copy = new long[filled];
+        for (int i = 0; i < filled; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        long value = copy[Math.min(filled - 1, (int) Math.ceil(percentile * filled) - 1)];
+        cachedPercentileNanos = value;
+        cachedPercentile = percentile;
+        computedAt = now;
+        return value;
+    }
+}
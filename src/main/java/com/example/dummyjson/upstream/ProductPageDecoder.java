@@ -0,0 +1,163 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.dto.Product;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodifica uma pagina {@code {"products": [...], "total": n, ...}} do DummyJSON de forma incremental:
+ * cada {@link Product} e emitido assim que o seu objeto termina de chegar, sem montar a lista inteira.
+ * Como o DummyJSON envia {@code total} depois do array, ele chega em um elemento final proprio. Usa o
+ * {@link ObjectMapper} da aplicacao, o mesmo dos codecs do {@code WebClient}.
+ */
+@Component
+public class ProductPageDecoder {
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectReader productReader;
+
+    public ProductPageDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.productReader = objectMapper.readerFor(Product.class);
+    }
+
+    public Flux<PageElement> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            Tokenizer tokenizer = new Tokenizer();
+            return body.concatMapIterable(tokenizer::feed)
+                    .concatWith(Mono.fromCallable(tokenizer::end))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    /**
+     * Produto da pagina ou, no ultimo elemento, os metadados {@code total}, {@code skip} e {@code limit}.
+     */
+    public record PageElement(Product product, Integer total, Integer skip, Integer limit) {
+
+        static PageElement of(Product product) {
+            return new PageElement(product, null, null, null);
+        }
+
+        public boolean isProduct() {
+            return product != null;
+        }
+    }
+
+    private final class Tokenizer {
+
+        private final JsonParser parser;
+
+        private int depth;
+
+        private String field;
+
+        private boolean inProducts;
+
+        private TokenBuffer current;
+
+        private boolean complete;
+
+        private Integer total;
+
+        private Integer skip;
+
+        private Integer limit;
+
+        private Tokenizer() {
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private List<PageElement> feed(DataBuffer buffer) {
+            List<PageElement> elements = new ArrayList<>(1);
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer bytes = iterator.next();
+                    ((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes);
+                    drain(elements);
+                }
+            } catch (IOException e) {
+                throw new DecodingException("JSON inválido na página de produtos", e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            return elements;
+        }
+
+        private PageElement end() {
+            parser.getNonBlockingInputFeeder().endOfInput();
+            try {
+                drain(new ArrayList<>(0));
+            } catch (IOException e) {
+                throw new DecodingException("Página de produtos incompleta", e);
+            }
+            if (!complete) {
+                throw new DecodingException("Página de produtos incompleta");
+            }
+            return new PageElement(null, total, skip, limit);
+        }
+
+        private void drain(List<PageElement> elements) throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (current != null) {
+                    current.copyCurrentEvent(parser);
+                }
+                if (token.isStructStart()) {
+                    depth++;
+                    if (depth == 2 && token == JsonToken.START_ARRAY && "products".equals(field)) {
+                        inProducts = true;
+                    } else if (depth == 3 && inProducts && token == JsonToken.START_OBJECT) {
+                        current = new TokenBuffer(parser);
+                        current.copyCurrentEvent(parser);
+                    }
+                } else if (token.isStructEnd()) {
+                    depth--;
+                    if (depth == 2 && current != null) {
+                        elements.add(PageElement.of(productReader.readValue(current.asParser(objectMapper))));
+                        current = null;
+                    } else if (depth == 1) {
+                        inProducts = false;
+                    } else if (depth == 0) {
+                        complete = true;
+                    }
+                } else if (depth == 1) {
+                    if (token == JsonToken.FIELD_NAME) {
+                        field = parser.currentName();
+                    } else if (token == JsonToken.VALUE_NUMBER_INT) {
+                        readMetadata();
+                    }
+                }
+            }
+        }
+
+        private void readMetadata() throws IOException {
+            switch (field) {
+                case "total" -> total = parser.getIntValue();
+                case "skip" -> skip = parser.getIntValue();
+                case "limit" -> limit = parser.getIntValue();
+                default -> { }
+            }
+        }
+    }
+}
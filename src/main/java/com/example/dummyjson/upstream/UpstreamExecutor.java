@@ -0,0 +1,87 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Ponto unico por onde passam as chamadas ao DummyJSON, aplicando as politicas de upstream.
+ * A ordem segue a recomendada pelo Resilience4j: Retry(CircuitBreaker(Bulkhead(chamada))),
+ * de modo que cada nova tentativa passa de novo pelo circuito e pelo bulkhead. Por fora de tudo fica o
+ * {@link AdaptiveConcurrencyLimiter}, que ocupa uma vaga por chamada logica (com as novas tentativas).
+ * O tempo medido em {@link UpstreamMetrics} cobre a chamada inteira, incluindo novas tentativas.
+ */
+@Component
+public class UpstreamExecutor {
+
+    public static final String INSTANCE = "dummyjson";
+
+    private final HedgingPolicy hedgingPolicy;
+
+    private final UpstreamMetrics metrics;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    private final Retry retry;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    /**
+     * Um registry {@code null} desliga a politica correspondente, assim como um {@code limiter} nulo; o Spring
+     * sempre fornece todos.
+     */
+    public UpstreamExecutor(HedgingPolicy hedgingPolicy, UpstreamMetrics metrics,
+                            CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                            RetryRegistry retryRegistry, AdaptiveConcurrencyLimiter limiter) {
+        this.hedgingPolicy = hedgingPolicy;
+        this.metrics = metrics;
+        this.circuitBreaker = circuitBreakerRegistry != null ? circuitBreakerRegistry.circuitBreaker(INSTANCE) : null;
+        this.bulkhead = bulkheadRegistry != null ? bulkheadRegistry.bulkhead(INSTANCE) : null;
+        this.retry = retryRegistry != null ? retryRegistry.retry(INSTANCE) : null;
+        this.limiter = limiter;
+    }
+
+    public <T> Mono<T> execute(String operation, Supplier<Mono<T>> call) {
+        return resilient(operation, Mono.defer(call));
+    }
+
+    public <T> Mono<T> executeHedged(String operation, Supplier<Mono<T>> call) {
+        return resilient(operation, Mono.defer(() -> hedgingPolicy.execute(operation, call)));
+    }
+
+    private <T> Mono<T> resilient(String operation, Mono<T> call) {
+        Mono<T> guarded = call;
+        if (bulkhead != null) {
+            guarded = guarded.transformDeferred(BulkheadOperator.of(bulkhead));
+        }
+        if (circuitBreaker != null) {
+            guarded = guarded.transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        }
+        if (retry != null) {
+            guarded = guarded.transformDeferred(RetryOperator.of(retry));
+        }
+        if (limiter != null) {
+            guarded = limiter.limit(guarded);
+        }
+        return metrics.timed(operation, guarded)
+                .onErrorMap(CallNotPermittedException.class,
+                        e -> new ServiceUnavailableException("Serviço DummyJSON indisponível (circuito aberto)"))
+                .onErrorMap(BulkheadFullException.class,
+                        e -> new ServiceUnavailableException("Limite de chamadas simultâneas ao DummyJSON atingido"));
+    }
+}
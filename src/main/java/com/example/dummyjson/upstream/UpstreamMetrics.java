@@ -0,0 +1,98 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.exception.ProductNotFoundException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers {@code dummyjson.upstream.requests} por operacao, com histograma e tags de resultado e status HTTP.
+ * <p>
+ * O status da ultima resposta e gravado pelo filtro {@link #statusRecorder()} do {@code WebClient} em um
+ * holder propagado pelo contexto do Reactor; chamadas que nao passam pelo filtro ficam com {@code NONE}.
+ */
+@Component
+public class UpstreamMetrics {
+
+    static final String METRIC = "dummyjson.upstream.requests";
+
+    private static final Object STATUS_KEY = UpstreamMetrics.class;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UpstreamMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static UpstreamMetrics noop() {
+        return new UpstreamMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * Filtro do {@code WebClient} que anota o status da resposta para a chamada em andamento.
+     */
+    public static ExchangeFilterFunction statusRecorder() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            Status status = context.getOrDefault(STATUS_KEY, null);
+            Mono<ClientResponse> response = next.exchange(request);
+            return status == null ? response : response.doOnNext(r -> status.code = r.statusCode().value());
+        });
+    }
+
+    public <T> Mono<T> timed(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Status status = new Status();
+            return call
+                    .doOnSuccess(value -> record(operation, "SUCCESS", status, start))
+                    .doOnError(e -> record(operation, outcome(e), status, start))
+                    .doOnCancel(() -> record(operation, "CANCELLED", status, start))
+                    .contextWrite(Context.of(STATUS_KEY, status));
+        });
+    }
+
+    private void record(String operation, String outcome, Status status, long start) {
+        String code = status.code == 0 ? "NONE" : Integer.toString(status.code);
+        timers.computeIfAbsent(operation + '|' + outcome + '|' + code, key -> Timer.builder(METRIC)
+                        .description("Chamadas ao DummyJSON por operação")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .tag("status", code)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof ProductNotFoundException) {
+            return "NOT_FOUND";
+        }
+        if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException) {
+            return "REJECTED";
+        }
+        return "ERROR";
+    }
+
+    private static final class Status {
+
+        private volatile int code;
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.config.UpstreamApiProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conjunto de URLs base equivalentes do DummyJSON (espelhos ou proxies regionais). O {@code WebClient} e
+ * montado sobre a primeira; o filtro {@link #filter()} escolhe, a cada troca HTTP, o endpoint de destino
+ * por "power of two choices": sorteia dois endpoints disponiveis e usa o de menor carga, medida como a
+ * latencia peak-EWMA (sobe na hora com um pico e decai em {@code decay}) vezes as chamadas pendentes.
+ * Como o filtro roda de novo a cada tentativa, retry e hedging do {@link UpstreamExecutor} tendem a cair
+ * em outro endpoint.
+ * <p>
+ * Depois de {@code eject-after-failures} falhas seguidas (erro de conexao, timeout ou 5xx) o endpoint sai
+ * da rotacao por {@code eject-duration}, dobrando a cada nova ejecao ate {@code max-eject-duration}, e so
+ * volta quando uma sonda do {@link UpstreamPoolProber} responde. Com um unico endpoint nada e ejetado; se
+ * todos estiverem fora, a escolha e feita entre todos.
+ */
+@Component
+public class UpstreamPool {
+
+    /**
+     * Atributo de requisicao que fixa o endpoint de destino (a URL base), sem balanceamento.
+     */
+    public static final String ENDPOINT_ATTRIBUTE = UpstreamPool.class.getName() + ".endpoint";
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamPool.class);
+
+    private static final long FAILURE_PENALTY_NANOS = 1_000_000_000L;
+
+    private final List<Endpoint> endpoints;
+
+    private final String primary;
+
+    private final double decayNanos;
+
+    private final int ejectAfterFailures;
+
+    private final long ejectNanos;
+
+    private final long maxEjectNanos;
+
+    @Autowired
+    public UpstreamPool(UpstreamApiProperties properties, MeterRegistry meterRegistry) {
+        this(properties);
+        for (Endpoint endpoint : endpoints) {
+            Gauge.builder("dummyjson.upstream.endpoint.available", endpoint, e -> e.isEjected() ? 0 : 1)
+                    .tag("endpoint", endpoint.baseUrl())
+                    .register(meterRegistry);
+            Gauge.builder("dummyjson.upstream.endpoint.pending", endpoint, Endpoint::getPending)
+                    .tag("endpoint", endpoint.baseUrl())
+                    .register(meterRegistry);
+            FunctionCounter.builder("dummyjson.upstream.endpoint.requests", endpoint, Endpoint::getRequests)
+                    .tag("endpoint", endpoint.baseUrl())
+                    .register(meterRegistry);
+            FunctionCounter.builder("dummyjson.upstream.endpoint.ejections", endpoint, Endpoint::getEjectionCount)
+                    .tag("endpoint", endpoint.baseUrl())
+                    .register(meterRegistry);
+        }
+    }
+
+    public UpstreamPool(UpstreamApiProperties properties) {
+        List<Endpoint> configured = new ArrayList<>();
+        for (String baseUrl : properties.endpoints()) {
+            configured.add(new Endpoint(normalize(baseUrl)));
+        }
+        if (configured.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma URL base configurada para o DummyJSON");
+        }
+        UpstreamApiProperties.Balancer balancer = properties.getBalancer();
+        this.endpoints = List.copyOf(configured);
+        this.primary = endpoints.get(0).baseUrl();
+        this.decayNanos = Math.max(1, balancer.getDecay().toNanos());
+        this.ejectAfterFailures = Math.max(1, balancer.getEjectAfterFailures());
+        this.ejectNanos = balancer.getEjectDuration().toNanos();
+        this.maxEjectNanos = Math.max(ejectNanos, balancer.getMaxEjectDuration().toNanos());
+    }
+
+    /**
+     * URL base usada para montar as requisicoes; o filtro a troca pela do endpoint escolhido.
+     */
+    public String primary() {
+        return primary;
+    }
+
+    public List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Endpoints ejetados cujo tempo de ejecao ja passou e que aguardam uma sonda para voltar.
+     */
+    public List<Endpoint> dueForProbe() {
+        long now = System.nanoTime();
+        return endpoints.stream()
+                .filter(endpoint -> endpoint.isEjected() && now - endpoint.ejectedUntil >= 0)
+                .toList();
+    }
+
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.defer(() -> {
+            Endpoint endpoint = request.attribute(ENDPOINT_ATTRIBUTE)
+                    .map(baseUrl -> find(baseUrl.toString()))
+                    .orElseGet(this::choose);
+            long start = System.nanoTime();
+            endpoint.requests.incrementAndGet();
+            endpoint.pending.incrementAndGet();
+            return next.exchange(route(request, endpoint))
+                    .doOnNext(response -> record(endpoint, start, !response.statusCode().is5xxServerError()))
+                    .doOnError(e -> record(endpoint, start, false))
+                    .doFinally(signal -> endpoint.pending.decrementAndGet());
+        });
+    }
+
+    Endpoint choose() {
+        if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+        List<Endpoint> candidates = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.isEjected()) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = endpoints;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        long now = System.nanoTime();
+        Endpoint a = candidates.get(first);
+        Endpoint b = candidates.get(second);
+        return a.load(now, decayNanos) <= b.load(now, decayNanos) ? a : b;
+    }
+
+    private Endpoint find(String baseUrl) {
+        String normalized = normalize(baseUrl);
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.baseUrl().equals(normalized)) {
+                return endpoint;
+            }
+        }
+        return choose();
+    }
+
+    private ClientRequest route(ClientRequest request, Endpoint endpoint) {
+        String url = request.url().toString();
+        if (endpoint.baseUrl().equals(primary) || !url.startsWith(primary)
+                || (url.length() > primary.length() && "/?#".indexOf(url.charAt(primary.length())) < 0)) {
+            return request;
+        }
+        return ClientRequest.from(request)
+                .url(URI.create(endpoint.baseUrl() + url.substring(primary.length())))
+                .build();
+    }
+
+    private void record(Endpoint endpoint, long start, boolean success) {
+        long now = System.nanoTime();
+        long rtt = now - start;
+        if (success) {
+            endpoint.observe(rtt, now, decayNanos);
+            endpoint.consecutiveFailures.set(0);
+            endpoint.reinstate();
+            return;
+        }
+        endpoint.observe(Math.max(rtt, FAILURE_PENALTY_NANOS), now, decayNanos);
+        if (endpoints.size() > 1 && endpoint.consecutiveFailures.incrementAndGet() >= ejectAfterFailures
+                && endpoint.eject(now, ejectNanos, maxEjectNanos)) {
+            log.warn("Endpoint {} do DummyJSON fora da rotação após {} falhas seguidas",
+                    endpoint.baseUrl(), endpoint.consecutiveFailures.get());
+        }
+    }
+
+    private static String normalize(String baseUrl) {
+        String trimmed = baseUrl.trim();
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    public static final class Endpoint {
+
+        private final String baseUrl;
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private final AtomicLong requests = new AtomicLong();
+
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        private final AtomicLong ejectionCount = new AtomicLong();
+
+        private double cost;
+
+        private long stamp = System.nanoTime();
+
+        private int ejections;
+
+        private volatile boolean ejected;
+
+        private volatile long ejectedUntil;
+
+        private Endpoint(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public String baseUrl() {
+            return baseUrl;
+        }
+
+        public boolean isEjected() {
+            return ejected;
+        }
+
+        public int getPending() {
+            return pending.get();
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        public long getEjectionCount() {
+            return ejectionCount.get();
+        }
+
+        /**
+         * Latencia peak-EWMA em nanossegundos, decaida ate {@code now}, vezes as chamadas pendentes mais um.
+         */
+        synchronized double load(long now, double decayNanos) {
+            return cost * Math.exp(-(now - stamp) / decayNanos) * (pending.get() + 1);
+        }
+
+        synchronized void observe(long rttNanos, long now, double decayNanos) {
+            double weight = Math.exp(-(now - stamp) / decayNanos);
+            cost = rttNanos > cost ? rttNanos : cost * weight + rttNanos * (1 - weight);
+            stamp = now;
+        }
+
+        synchronized boolean eject(long now, long ejectNanos, long maxEjectNanos) {
+            // Falhas de chamadas que ja estavam em andamento nao prolongam uma ejecao vigente.
+            if (ejected && now - ejectedUntil < 0) {
+                return false;
+            }
+            long duration = ejectNanos << Math.min(ejections, 20);
+            ejectedUntil = now + Math.min(maxEjectNanos, duration);
+            ejections++;
+            ejected = true;
+            ejectionCount.incrementAndGet();
+            return true;
+        }
+
+        synchronized void reinstate() {
+            if (ejected) {
+                ejected = false;
+                ejections = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.config.UpstreamApiProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Sonda, a cada {@code probe-interval}, os endpoints do {@link UpstreamPool} cujo tempo de ejecao passou.
+ * A sonda e um GET em {@code probe-path} fixado no endpoint; o proprio filtro do pool registra o resultado,
+ * devolvendo o endpoint a rotacao quando ele responde sem 5xx ou estendendo a ejecao quando falha.
+ */
+@Component
+public class UpstreamPoolProber implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamPoolProber.class);
+
+    private final UpstreamPool pool;
+
+    private final WebClient webClient;
+
+    private final UpstreamApiProperties.Balancer properties;
+
+    public UpstreamPoolProber(UpstreamPool pool, WebClient webClient, UpstreamApiProperties properties) {
+        this.pool = pool;
+        this.webClient = webClient;
+        this.properties = properties.getBalancer();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::probe,
+                properties.getProbeInterval(), properties.getProbeInterval()));
+    }
+
+    public void probe() {
+        for (UpstreamPool.Endpoint endpoint : pool.dueForProbe()) {
+            try {
+                webClient.get()
+                        .uri(properties.getProbePath())
+                        .attribute(UpstreamPool.ENDPOINT_ATTRIBUTE, endpoint.baseUrl())
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+                        .block(properties.getProbeInterval());
+            } catch (RuntimeException e) {
+                log.debug("Sonda do endpoint {} falhou: {}", endpoint.baseUrl(), e.getMessage());
+            }
+            if (!endpoint.isEjected()) {
+                log.info("Endpoint {} do DummyJSON voltou à rotação", endpoint.baseUrl());
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.dummyjson.controller;
+
+import com.example.dummyjson.config.RateLimitProperties;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+/**
+ * Versao Spring MVC do {@link ClientRateLimitAdvice}. Fica em {@code src/servlet/java}, compilado apenas no
+ * perfil {@code servlet}, porque a API de servlet nao existe no modo reativo.
+ */
+@ControllerAdvice(assignableTypes = ProductController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServletClientRateLimitAdvice extends ClientRateLimitAdvice {
+
+    public ServletClientRateLimitAdvice(ClientRateLimiter rateLimiter, RateLimitProperties properties) {
+        super(rateLimiter, properties);
+    }
+
+    @ModelAttribute
+    public void limitClient(HttpServletRequest request,
+                            @RequestHeader(value = CLIENT_ID, required = false) String clientId,
+                            @RequestHeader(value = FORWARDED_FOR, required = false) String forwardedFor) {
+        // O MVC roda os metodos @ModelAttribute de novo no despacho assincrono que entrega o Mono resolvido.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return;
+        }
+        limit(request.getRemoteAddr(), clientId, forwardedFor);
+    }
+}
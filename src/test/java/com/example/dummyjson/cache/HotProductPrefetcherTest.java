@@ -0,0 +1,120 @@
+package com.example.dummyjson.cache;
+
+import com.example.dummyjson.config.HotProductProperties;
+import com.example.dummyjson.config.ProductCacheProperties;
+import com.example.dummyjson.dto.Product;
+import com.example.dummyjson.service.ProductService;
+import com.example.dummyjson.service.ProductServiceBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotProductPrefetcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Queue<String> requestedPaths = new ConcurrentLinkedQueue<>();
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requestedPaths.add(request.getRequestUrl().encodedPath());
+                String id = request.getRequestUrl().pathSegments().get(1);
+                return new MockResponse()
+                        .setBody("{\"id\": " + id + ", \"title\": \"Produto " + id + "\", \"price\": 10}")
+                        .addHeader("Content-Type", "application/json");
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void refresh_ShouldPrefetchOnlyExpiringHotIds_AndWriteThemToFile() throws IOException {
+        Path path = tempDir.resolve("hot-products.txt");
+        HotProductTracker tracker = new HotProductTracker(new HotProductProperties());
+        ProductCache cache = new ProductCache(new ProductCacheProperties());
+        cache.put(1L, product(1L));
+        record(tracker, 1L, 3);
+        record(tracker, 2L, 2);
+
+        HotProductPrefetcher prefetcher = prefetcher(path, tracker, cache);
+        prefetcher.refresh();
+
+        assertEquals(List.of("/products/2"), List.copyOf(requestedPaths));
+        assertNotNull(cache.get(2L));
+        assertEquals(1, prefetcher.getPrefetched());
+        assertEquals(List.of("1", "2"), Files.readAllLines(path, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void warm_ShouldLoadIdsWrittenByThePreviousRun() throws IOException {
+        Path path = tempDir.resolve("hot-products.txt");
+        HotProductTracker previousTracker = new HotProductTracker(new HotProductProperties());
+        record(previousTracker, 7L, 2);
+        record(previousTracker, 9L, 1);
+        prefetcher(path, previousTracker, ProductCache.disabled()).destroy();
+
+        ProductCache cache = new ProductCache(new ProductCacheProperties());
+        HotProductTracker tracker = new HotProductTracker(new HotProductProperties());
+        HotProductPrefetcher prefetcher = prefetcher(path, tracker, cache);
+        prefetcher.warm();
+
+        assertEquals("Produto 7", cache.get(7L).getTitle());
+        assertEquals("Produto 9", cache.get(9L).getTitle());
+        assertEquals(2, prefetcher.getPrefetched());
+        assertTrue(tracker.hottest().isEmpty());
+    }
+
+    private HotProductPrefetcher prefetcher(Path path, HotProductTracker tracker, ProductCache cache) {
+        HotProductProperties properties = new HotProductProperties();
+        properties.getPrefetch().setPath(path);
+        ProductService service = new ProductServiceBuilder(WebClient.create(server.url("/").toString()))
+                .cache(cache)
+                .hotProducts(tracker)
+                .build();
+        return new HotProductPrefetcher(properties, tracker, cache, service, new SimpleMeterRegistry());
+    }
+
+    private static void record(HotProductTracker tracker, Long id, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(id);
+        }
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle("Produto " + id);
+        return product;
+    }
+}
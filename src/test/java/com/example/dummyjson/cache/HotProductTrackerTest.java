@@ -0,0 +1,63 @@
+package com.example.dummyjson.cache;
+
+import com.example.dummyjson.config.HotProductProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotProductTrackerTest {
+
+    @Test
+    void hottest_ShouldKeepMostFrequentIdsInOrder() {
+        HotProductTracker tracker = new HotProductTracker(properties(3, 1_000_000));
+
+        for (long id = 1; id <= 200; id++) {
+            tracker.record(id);
+        }
+        record(tracker, 7L, 50);
+        record(tracker, 42L, 30);
+        record(tracker, 3L, 10);
+
+        List<Long> hottest = tracker.hottest().stream().map(HotProductTracker.HotProduct::id).toList();
+        assertEquals(List.of(7L, 42L, 3L), hottest);
+        assertTrue(tracker.estimate(7L) >= 51);
+    }
+
+    @Test
+    void record_ShouldLetNewlyHotIdsReplaceOldOnesAfterDecay() {
+        HotProductTracker tracker = new HotProductTracker(properties(1, 100));
+
+        record(tracker, 1L, 100);
+        record(tracker, 2L, 100);
+        record(tracker, 2L, 100);
+
+        assertEquals(List.of(2L), tracker.hottest().stream().map(HotProductTracker.HotProduct::id).toList());
+        assertTrue(tracker.getDecays() >= 3);
+    }
+
+    @Test
+    void disabled_ShouldNotTrackAnything() {
+        HotProductTracker tracker = HotProductTracker.disabled();
+
+        record(tracker, 1L, 10);
+
+        assertTrue(tracker.hottest().isEmpty());
+        assertEquals(0, tracker.getSamples());
+    }
+
+    private static void record(HotProductTracker tracker, Long id, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(id);
+        }
+    }
+
+    private static HotProductProperties properties(int topK, long decayAfter) {
+        HotProductProperties properties = new HotProductProperties();
+        properties.setTopK(topK);
+        properties.setDecayAfter(decayAfter);
+        return properties;
+    }
+}
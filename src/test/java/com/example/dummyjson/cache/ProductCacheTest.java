@@ -0,0 +1,31 @@
+package com.example.dummyjson.cache;
+
+import com.example.dummyjson.config.ProductCacheProperties;
+import com.example.dummyjson.dto.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductCacheTest {
+
+    @Test
+    void isExpiring_ShouldFlagMissingEntriesAndEntriesInsideTheWindow() {
+        ProductCache cache = new ProductCache(new ProductCacheProperties());
+        cache.put(1L, product(1L));
+
+        assertFalse(cache.isExpiring(1L, Duration.ofMinutes(1)));
+        assertTrue(cache.isExpiring(1L, Duration.ofMinutes(5)));
+        assertTrue(cache.isExpiring(2L, Duration.ofMinutes(1)));
+        assertFalse(ProductCache.disabled().isExpiring(2L, Duration.ofMinutes(1)));
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle("Produto " + id);
+        return product;
+    }
+}
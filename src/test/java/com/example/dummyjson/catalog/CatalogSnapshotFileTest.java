@@ -0,0 +1,71 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.dto.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void write_ShouldRoundTripProducts() throws IOException {
+        Path path = tempDir.resolve("catalog.snapshot");
+        Instant loadedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        CatalogSnapshotFile.write(path, List.of(product(1L, "iPhone 9", 549.0), product(2L, "iPhone X", null)),
+                loadedAt);
+        CatalogSnapshot snapshot = CatalogSnapshotFile.read(path);
+
+        assertEquals(2, snapshot.size());
+        assertEquals(loadedAt, snapshot.loadedAt());
+        assertEquals("iPhone 9", snapshot.get(1L).getTitle());
+        assertEquals(549.0, snapshot.get(1L).getPrice());
+        assertNull(snapshot.get(2L).getPrice());
+        assertNull(snapshot.get(2L).getDescription());
+    }
+
+    @Test
+    void read_ShouldRejectTruncatedFile() throws IOException {
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, List.of(product(1L, "iPhone 9", 549.0)), Instant.now());
+
+        byte[] content = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(content, content.length / 2));
+
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(path));
+    }
+
+    @Test
+    void read_ShouldRejectCorruptedFile() throws IOException {
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, List.of(product(1L, "iPhone 9", 549.0)), Instant.now());
+
+        byte[] content = Files.readAllBytes(path);
+        content[content.length - 12] ^= 0x5A;
+        Files.write(path, content);
+
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(path));
+    }
+
+    private static Product product(Long id, String title, Double price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle(title);
+        product.setPrice(price);
+        return product;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.cache.ProductCache;
+import com.example.dummyjson.config.MirrorProperties;
+import com.example.dummyjson.config.ProductCacheProperties;
+import com.example.dummyjson.config.SnapshotFileProperties;
+import com.example.dummyjson.dto.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CatalogSnapshotPersistenceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void load_ShouldSeedCacheWithSnapshotAge_AndSkipMirrorWhenDisabled() throws IOException {
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, List.of(product(1L, "iPhone 9")), Instant.now().minus(Duration.ofSeconds(330)));
+        CatalogMirror mirror = new CatalogMirror(new MirrorProperties());
+        ProductCache cache = new ProductCache(new ProductCacheProperties());
+
+        persistence(path, mirror, cache).load();
+
+        assertNull(mirror.current());
+        assertNull(cache.get(1L));
+        assertEquals(ProductCache.Freshness.STALE_WHILE_REVALIDATE, cache.lookup(1L).freshness());
+    }
+
+    @Test
+    void load_ShouldDropEntriesOlderThanTheRetentionWindow() throws IOException {
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, List.of(product(1L, "iPhone 9")), Instant.now().minus(Duration.ofHours(2)));
+        ProductCache cache = new ProductCache(new ProductCacheProperties());
+
+        persistence(path, new CatalogMirror(new MirrorProperties()), cache).load();
+
+        assertNull(cache.lookup(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void write_ShouldRewriteFileWhenCacheChangesAfterRestore_WithMirrorDisabled() throws IOException {
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, List.of(product(1L, "iPhone 9")), Instant.now());
+        ProductCache cache = new ProductCache(new ProductCacheProperties());
+        CatalogSnapshotPersistence persistence = persistence(path, new CatalogMirror(new MirrorProperties()), cache);
+        persistence.load();
+
+        cache.put(2L, product(2L, "iPhone X"));
+        persistence.write();
+
+        CatalogSnapshot written = CatalogSnapshotFile.read(path);
+        assertEquals(2, written.size());
+        assertEquals("iPhone X", written.get(2L).getTitle());
+    }
+
+    @Test
+    void write_ShouldSkipUnchangedCache_WhateverTheEntryOrder() throws IOException {
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, List.of(product(3L, "Samsung Universe 9"), product(1L, "iPhone 9"),
+                product(2L, "iPhone X")), Instant.now());
+        ProductCache cache = new ProductCache(new ProductCacheProperties());
+        CatalogSnapshotPersistence persistence = persistence(path, new CatalogMirror(new MirrorProperties()), cache);
+        persistence.load();
+        Files.delete(path);
+
+        persistence.write();
+
+        assertFalse(Files.exists(path));
+    }
+
+    private static CatalogSnapshotPersistence persistence(Path path, CatalogMirror mirror, ProductCache cache) {
+        SnapshotFileProperties properties = new SnapshotFileProperties();
+        properties.setPath(path);
+        return new CatalogSnapshotPersistence(properties, mirror, cache);
+    }
+
+    private static Product product(Long id, String title) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle(title);
+        return product;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.dto.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CompactProductTest {
+
+    @Test
+    void toProduct_ShouldRoundTripFieldsIncludingNulls() {
+        Product product = product(7L, "iPhone 9", null);
+
+        CompactProduct compact = CompactProduct.of(product);
+
+        assertEquals(product, compact.toProduct());
+        assertFalse(compact.hasPrice());
+        assertNull(compact.toProduct().getPrice());
+        assertNull(CompactProduct.of(new Product()).toProduct().getId());
+    }
+
+    @Test
+    void of_ShouldShareEqualStrings() {
+        CompactProduct first = CompactProduct.of(product(1L, new String("iPhone 9"), 549.0));
+        CompactProduct second = CompactProduct.of(product(1L, new String("iPhone 9"), 549.0));
+
+        assertSame(first.title(), second.title());
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void snapshot_ShouldKeepOrderAndLookUpById() {
+        CatalogSnapshot snapshot = new CatalogSnapshot(List.of(product(30L, "c", 3.0), product(2L, "a", 1.0),
+                product(15L, "b", 2.0)), Instant.now());
+
+        assertEquals(List.of(30L, 2L, 15L), snapshot.products().stream().map(Product::getId).toList());
+        assertEquals("b", snapshot.get(15L).getTitle());
+        assertNull(snapshot.get(16L));
+        assertFalse(snapshot.contains(null));
+    }
+
+    private static Product product(Long id, String title, Double price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle(title);
+        product.setPrice(price);
+        return product;
+    }
+}
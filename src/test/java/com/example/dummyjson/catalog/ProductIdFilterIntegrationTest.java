@@ -0,0 +1,83 @@
+package com.example.dummyjson.catalog;
+
+import com.example.dummyjson.exception.ProductNotFoundException;
+import com.example.dummyjson.service.ProductService;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sobe a aplicacao com o mirror desligado (padrao) contra um DummyJSON falso cujo catalogo tem os IDs 1, 2 e 4.
+ */
+@SpringBootTest(properties = "dummyjson.cache.enabled=false")
+class ProductIdFilterIntegrationTest {
+
+    private static final AtomicInteger productRequests = new AtomicInteger();
+
+    private static final MockWebServer server = new MockWebServer();
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductIdFilter productIdFilter;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getRequestUrl().encodedPath();
+                if (path.equals("/products")) {
+                    return new MockResponse()
+                            .setBody("""
+                                    {"products": [{"id": 1, "title": "iPhone 9"}, {"id": 2, "title": "iPhone X"},
+                                    {"id": 4, "title": "OPPOF19"}], "total": 3, "skip": 0, "limit": 30}
+                                    """)
+                            .addHeader("Content-Type", "application/json");
+                }
+                productRequests.incrementAndGet();
+                return new MockResponse()
+                        .setBody("{\"id\": 5, \"title\": \"Huawei P30\"}")
+                        .addHeader("Content-Type", "application/json");
+            }
+        });
+        server.start();
+        registry.add("dummyjson.api.base-url", () -> server.url("/").toString());
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void getProductById_ShouldRejectGapIdWithoutCallingUpstream_WhenMirrorIsDisabled() {
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> productIdFilter.rejects(3L));
+
+        StepVerifier.create(productService.getProductById(3L))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+        assertEquals(0, productRequests.get());
+
+        StepVerifier.create(productService.getProductById(5L))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(1, productRequests.get());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.dummyjson.controller;
+
+import com.example.dummyjson.config.RateLimitProperties;
+import com.example.dummyjson.dto.Product;
+import com.example.dummyjson.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * O bucket tem 3 fichas e praticamente nao reabastece durante o teste, entao o resultado nao depende
+ * de quanto tempo as requisicoes levam.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "dummyjson.rate-limit.enabled=true",
+        "dummyjson.rate-limit.requests-per-second=0.001",
+        "dummyjson.rate-limit.burst=3"
+})
+@AutoConfigureWebTestClient
+class ClientRateLimitAdviceTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ProductService productService;
+
+    @Test
+    void getProductById_shouldReturn429WhenClientExceedsItsRateEvenWithRotatingClientIds() {
+        Product product = new Product();
+        product.setId(11L);
+
+        when(productService.getProductById(11L)).thenReturn(Mono.just(product));
+
+        for (int i = 0; i < 3; i++) {
+            webTestClient.get()
+                    .uri("/api/products/{id}", 11L)
+                    .header(ClientRateLimitAdvice.CLIENT_ID, "crawler-" + i)
+                    .header(ClientRateLimitAdvice.FORWARDED_FOR, "203.0.113." + i)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        webTestClient.get()
+                .uri("/api/products/{id}", 11L)
+                .header(ClientRateLimitAdvice.CLIENT_ID, "crawler-novo")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER);
+    }
+
+    @Test
+    void client_shouldTrustHeadersOnlyFromConfiguredProxies() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxies(List.of("10.0.0.0/8", "::1"));
+        ClientRateLimitAdvice advice = new ClientRateLimitAdvice(new ClientRateLimiter(properties), properties) {
+        };
+
+        assertEquals("ip:198.51.100.7", advice.client("198.51.100.7", "qualquer", "203.0.113.9"));
+        assertEquals("id:parceiro", advice.client("10.1.2.3", "parceiro", "203.0.113.9"));
+        assertEquals("ip:203.0.113.9", advice.client("10.1.2.3", null, "198.51.100.1, 203.0.113.9, 10.0.0.5"));
+        assertEquals("ip:10.0.0.5", advice.client("0:0:0:0:0:0:0:1", null, "10.0.0.5"));
+        assertEquals("ip:cliente.exemplo", advice.client("10.1.2.3", null, "cliente.exemplo"));
+        assertEquals("ip:10.1.2.3", advice.client("10.1.2.3", null, null));
+    }
+}
@@ -2,36 +2,63 @@ package com.example.dummyjson.controller;
 
 import com.example.dummyjson.dto.Product;
 import com.example.dummyjson.dto.ProductsResponse;
+import com.example.dummyjson.exception.ProductNotFoundException;
+import com.example.dummyjson.search.ProductPriceIndex;
+import com.example.dummyjson.search.ProductSearchIndex;
 import com.example.dummyjson.service.ProductService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebTestClient
+@AutoConfigureObservability(tracing = false)
 @ExtendWith(MockitoExtension.class)
 class ProductControllerTest {
 
     @Autowired
     private WebTestClient webTestClient;
 
+    @LocalServerPort
+    private int port;
+
     @MockBean
     private ProductService productService;
 
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductPriceIndex productPriceIndex;
+
     @Test
     void getAllProducts_shouldReturn200WithProducts() {
         ProductsResponse response = new ProductsResponse();
@@ -58,6 +85,134 @@ class ProductControllerTest {
                 .expectStatus().isNoContent();
     }
 
+    @Test
+    void streamAllProducts_shouldStreamNdjson() {
+        Product first = new Product();
+        first.setId(1L);
+        Product second = new Product();
+        second.setId(2L);
+
+        when(productService.getCatalog()).thenReturn(Flux.just(first, second));
+
+        webTestClient.get()
+                .uri("/api/products/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Product.class)
+                .getResponseBody()
+                .map(Product::getId)
+                .as(StepVerifier::create)
+                .expectNext(1L, 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamAllProducts_shouldReturn204WhenNoProducts() {
+        when(productService.getCatalog()).thenReturn(Flux.empty());
+
+        webTestClient.get()
+                .uri("/api/products/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void getProductsByIds_shouldReturnPartialResultsWithPerIdErrors() {
+        Product product = new Product();
+        product.setId(1L);
+
+        when(productService.getProductById(1L)).thenReturn(Mono.just(product));
+        when(productService.getProductById(999L))
+                .thenReturn(Mono.error(new ProductNotFoundException("Produto não encontrado com o ID: 999")));
+
+        webTestClient.get()
+                .uri("/api/products?ids=1,999,1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products.length()").isEqualTo(1)
+                .jsonPath("$.products[0].id").isEqualTo(1)
+                .jsonPath("$.errors.999").isEqualTo("Produto não encontrado com o ID: 999");
+
+        verify(productService, times(1)).getProductById(1L);
+    }
+
+    @Test
+    void searchProducts_shouldRankTitleMatchesFirst() {
+        Product phone = new Product();
+        phone.setId(1L);
+        phone.setTitle("iPhone 9");
+        phone.setDescription("An apple mobile which is nothing like apple");
+        Product phoneCase = new Product();
+        phoneCase.setId(2L);
+        phoneCase.setTitle("Capa protetora");
+        phoneCase.setDescription("Capa de silicone para iPhone");
+        productSearchIndex.rebuild(List.of(phoneCase, phone));
+
+        webTestClient.get()
+                .uri("/api/products/search?q=ipho")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$[1].id").isEqualTo(2);
+
+        webTestClient.get()
+                .uri("/api/products/search?q=capa silicone")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(2);
+    }
+
+    @Test
+    void getAllProducts_shouldFilterAndSortByPrice() {
+        productPriceIndex.rebuild(List.of(priced(1L, 549.0), priced(2L, 899.0), priced(3L, 1249.0),
+                priced(4L, 280.0), priced(5L, 499.0)));
+
+        webTestClient.get()
+                .uri("/api/products?minPrice=300&maxPrice=900&sort=-price&limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].total").isEqualTo(3)
+                .jsonPath("$[0].products.length()").isEqualTo(2)
+                .jsonPath("$[0].products[0].id").isEqualTo(2)
+                .jsonPath("$[0].products[1].id").isEqualTo(1);
+
+        webTestClient.get()
+                .uri("/api/products?minPrice=2000")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void getAllProducts_shouldOnlyBoundThePage_WhenLimitIsTheOnlyParameter() {
+        ProductsResponse response = new ProductsResponse();
+        response.setProducts(List.of(priced(1L, 549.0), priced(2L, 99.0), priced(3L, 1249.0)));
+        response.setTotal(194);
+        response.setSkip(0);
+        response.setLimit(30);
+
+        when(productService.getAllProducts()).thenReturn(Flux.just(response));
+
+        webTestClient.get()
+                .uri("/api/products?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].total").isEqualTo(194)
+                .jsonPath("$[0].limit").isEqualTo(2)
+                .jsonPath("$[0].products.length()").isEqualTo(2)
+                .jsonPath("$[0].products[0].id").isEqualTo(1)
+                .jsonPath("$[0].products[1].id").isEqualTo(2);
+    }
+
     @Test
     void getProductById_shouldReturn200WhenProductExists() {
         Long productId = 1L;
@@ -77,6 +232,149 @@ class ProductControllerTest {
                 });
     }
 
+    @Test
+    void getProductById_shouldReturn304WhenETagMatches() {
+        Product product = new Product();
+        product.setId(7L);
+        product.setTitle("iPhone 9");
+
+        when(productService.getProductById(7L)).thenReturn(Mono.just(product));
+
+        String etag = webTestClient.get()
+                .uri("/api/products/{id}", 7L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get()
+                .uri("/api/products/{id}", 7L)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody().isEmpty();
+
+        Product changed = new Product();
+        changed.setId(7L);
+        changed.setTitle("iPhone X");
+        when(productService.getProductById(7L)).thenReturn(Mono.just(changed));
+
+        webTestClient.get()
+                .uri("/api/products/{id}", 7L)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("iPhone X");
+    }
+
+    @Test
+    void getProductById_shouldServePrecompressedGzipWhenAccepted() throws IOException {
+        Product product = new Product();
+        product.setId(8L);
+        product.setDescription("a".repeat(4096));
+
+        when(productService.getProductById(8L)).thenReturn(Mono.just(product));
+
+        // O WebTestClient padrao descomprime sozinho e remove Content-Encoding; este le os bytes crus.
+        WebTestClient rawClient = WebTestClient
+                .bindToServer(new ReactorClientHttpConnector(HttpClient.create().compress(false)))
+                .baseUrl("http://localhost:" + port)
+                .build();
+
+        byte[] body = rawClient.get()
+                .uri("/api/products/{id}", 8L)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).contains("\"id\":8"));
+        }
+    }
+
+    @Test
+    void getProductById_shouldMatchOnlyTheETagOfTheServedEncoding() {
+        Product product = new Product();
+        product.setId(10L);
+        product.setDescription("a".repeat(4096));
+
+        when(productService.getProductById(10L)).thenReturn(Mono.just(product));
+
+        WebTestClient rawClient = WebTestClient
+                .bindToServer(new ReactorClientHttpConnector(HttpClient.create().compress(false)))
+                .baseUrl("http://localhost:" + port)
+                .build();
+
+        String gzipEtag = rawClient.get()
+                .uri("/api/products/{id}", 10L)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+
+        String identityEtag = rawClient.get()
+                .uri("/api/products/{id}", 10L)
+                .header(HttpHeaders.IF_NONE_MATCH, gzipEtag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+        assertNotEquals(gzipEtag, identityEtag);
+
+        rawClient.get()
+                .uri("/api/products/{id}", 10L)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, identityEtag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        rawClient.get()
+                .uri("/api/products/{id}", 10L)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, gzipEtag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void getProductById_shouldProjectRequestedFields() {
+        Product product = new Product();
+        product.setId(9L);
+        product.setTitle("iPhone 9");
+        product.setDescription("An apple mobile");
+        product.setPrice(549.0);
+
+        when(productService.getProductById(9L)).thenReturn(Mono.just(product));
+
+        webTestClient.get()
+                .uri("/api/products/{id}?fields=title,price", 9L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(9)
+                .jsonPath("$.title").isEqualTo("iPhone 9")
+                .jsonPath("$.price").isEqualTo(549.0)
+                .jsonPath("$.description").doesNotExist();
+
+        webTestClient.get()
+                .uri("/api/products/{id}?fields=images", 9L)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void getProductById_shouldReturn404WhenProductNotFound() {
         Long productId = 999L;
@@ -89,6 +387,27 @@ class ProductControllerTest {
                 .expectStatus().isNotFound();
     }
 
+    @Test
+    void prometheus_shouldExposeErrorCountersAndRequestHistogram() {
+        when(productService.getProductById(998L))
+                .thenReturn(Mono.error(new ProductNotFoundException("Produto não encontrado com o ID: 998")));
+
+        webTestClient.get()
+                .uri("/api/products/998")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.get()
+                .uri("/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> {
+                    assertTrue(body.contains("dummyjson_errors_total{exception=\"ProductNotFoundException\"}"));
+                    assertTrue(body.contains("http_server_requests_seconds_bucket"));
+                });
+    }
+
     @Test
     void getProductById_shouldReturn400WhenIdIsInvalid() {
         webTestClient.get()
@@ -96,4 +415,11 @@ class ProductControllerTest {
                 .exchange()
                 .expectStatus().isBadRequest();
     }
-}
\ No newline at end of file
+
+    private static Product priced(Long id, Double price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(price);
+        return product;
+    }
+}
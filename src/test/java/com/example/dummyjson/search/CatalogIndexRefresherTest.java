@@ -0,0 +1,66 @@
+package com.example.dummyjson.search;
+
+import com.example.dummyjson.catalog.ProductIdFilter;
+import com.example.dummyjson.config.MirrorProperties;
+import com.example.dummyjson.dto.Product;
+import com.example.dummyjson.exception.ServiceUnavailableException;
+import com.example.dummyjson.service.ProductService;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogIndexRefresherTest {
+
+    @Test
+    void refresh_ShouldIndexCatalog_WhenMirrorIsDisabled() {
+        ProductService productService = mock(ProductService.class);
+        when(productService.getCatalog())
+                .thenReturn(Flux.just(product(1L, "iPhone 9"), product(2L, "Samsung Universe 9")))
+                .thenReturn(Flux.just(product(2L, "Samsung Universe 9")));
+        ProductSearchIndex searchIndex = new ProductSearchIndex();
+        ProductPriceIndex priceIndex = new ProductPriceIndex();
+        CatalogIndexRefresher refresher = new CatalogIndexRefresher(productService, searchIndex, priceIndex,
+                ProductIdFilter.disabled(), new MirrorProperties());
+
+        refresher.refresh();
+        assertEquals(1L, searchIndex.search("iphone", 10).get(0).getId());
+        assertEquals(2, priceIndex.range(0, 600, false, 10).total());
+
+        refresher.refresh();
+        assertEquals(List.of(), searchIndex.search("iphone", 10));
+        assertEquals(1, searchIndex.size());
+        assertEquals(2L, priceIndex.range(0, 600, false, 10).products().get(0).getId());
+    }
+
+    @Test
+    void refresh_ShouldKeepCurrentIndex_WhenUpstreamFails() {
+        ProductService productService = mock(ProductService.class);
+        when(productService.getCatalog())
+                .thenReturn(Flux.just(product(1L, "iPhone 9")))
+                .thenReturn(Flux.error(new ServiceUnavailableException("indisponível")));
+        ProductSearchIndex searchIndex = new ProductSearchIndex();
+        ProductPriceIndex priceIndex = new ProductPriceIndex();
+        CatalogIndexRefresher refresher = new CatalogIndexRefresher(productService, searchIndex, priceIndex,
+                ProductIdFilter.disabled(), new MirrorProperties());
+
+        refresher.refresh();
+        refresher.refresh();
+
+        assertEquals(1, searchIndex.search("iphone", 10).size());
+        assertEquals(1, priceIndex.size());
+    }
+
+    private static Product product(Long id, String title) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle(title);
+        product.setDescription("");
+        product.setPrice(100.0 * id);
+        return product;
+    }
+}
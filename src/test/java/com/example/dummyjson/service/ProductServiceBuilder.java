@@ -0,0 +1,79 @@
+package com.example.dummyjson.service;
+
+import com.example.dummyjson.cache.HotProductTracker;
+import com.example.dummyjson.cache.ProductCache;
+import com.example.dummyjson.catalog.CatalogMirror;
+import com.example.dummyjson.catalog.ProductIdFilter;
+import com.example.dummyjson.config.CatalogProperties;
+import com.example.dummyjson.upstream.ProductPageDecoder;
+import com.example.dummyjson.upstream.UpstreamExecutor;
+import com.example.dummyjson.upstream.UpstreamExecutors;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Monta um {@link ProductService} para testes e benchmarks. O que nao for informado fica desligado (cache,
+ * mirror, filtro de IDs e rastreador de produtos quentes) e as chamadas vao direto ao upstream.
+ */
+public final class ProductServiceBuilder {
+
+    private final WebClient webClient;
+
+    private ProductPageDecoder pageDecoder = new ProductPageDecoder(Jackson2ObjectMapperBuilder.json().build());
+
+    private ProductCache productCache = ProductCache.disabled();
+
+    private CatalogProperties catalogProperties = new CatalogProperties();
+
+    private CatalogMirror catalogMirror = CatalogMirror.disabled();
+
+    private UpstreamExecutor upstreamExecutor = UpstreamExecutors.direct();
+
+    private ProductIdFilter idFilter = ProductIdFilter.disabled();
+
+    private HotProductTracker hotProducts = HotProductTracker.disabled();
+
+    public ProductServiceBuilder(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    public ProductServiceBuilder pageDecoder(ProductPageDecoder pageDecoder) {
+        this.pageDecoder = pageDecoder;
+        return this;
+    }
+
+    public ProductServiceBuilder cache(ProductCache productCache) {
+        this.productCache = productCache;
+        return this;
+    }
+
+    public ProductServiceBuilder catalogProperties(CatalogProperties catalogProperties) {
+        this.catalogProperties = catalogProperties;
+        return this;
+    }
+
+    public ProductServiceBuilder catalogMirror(CatalogMirror catalogMirror) {
+        this.catalogMirror = catalogMirror;
+        return this;
+    }
+
+    public ProductServiceBuilder upstreamExecutor(UpstreamExecutor upstreamExecutor) {
+        this.upstreamExecutor = upstreamExecutor;
+        return this;
+    }
+
+    public ProductServiceBuilder idFilter(ProductIdFilter idFilter) {
+        this.idFilter = idFilter;
+        return this;
+    }
+
+    public ProductServiceBuilder hotProducts(HotProductTracker hotProducts) {
+        this.hotProducts = hotProducts;
+        return this;
+    }
+
+    public ProductService build() {
+        return new ProductService(webClient, pageDecoder, productCache, catalogProperties, catalogMirror,
+                upstreamExecutor, idFilter, hotProducts);
+    }
+}
@@ -1,15 +1,32 @@
 package com.example.dummyjson.service;
 
+import com.example.dummyjson.cache.ProductCache;
+import com.example.dummyjson.catalog.CatalogMirror;
+import com.example.dummyjson.catalog.CatalogSnapshot;
+import com.example.dummyjson.catalog.ProductIdFilter;
+import com.example.dummyjson.config.CatalogProperties;
+import com.example.dummyjson.config.HedgingProperties;
+import com.example.dummyjson.config.IdFilterProperties;
+import com.example.dummyjson.config.MirrorProperties;
+import com.example.dummyjson.config.ProductCacheProperties;
 import com.example.dummyjson.dto.Product;
 import com.example.dummyjson.dto.ProductsResponse;
 import com.example.dummyjson.exception.ProductNotFoundException;
 import com.example.dummyjson.exception.ServiceUnavailableException;
+import com.example.dummyjson.upstream.HedgingPolicy;
+import com.example.dummyjson.upstream.UpstreamExecutor;
+import com.example.dummyjson.upstream.UpstreamExecutors;
+import com.example.dummyjson.upstream.UpstreamMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -19,7 +36,18 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
-
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -40,7 +68,6 @@ class ProductServiceIntegrationTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
-    @InjectMocks
     private ProductService productService;
 
     @BeforeAll
@@ -49,6 +76,11 @@ class ProductServiceIntegrationTest {
         mockWebServer.start();
     }
 
+    @BeforeEach
+    void createService() {
+        productService = new ProductServiceBuilder(webClient).build();
+    }
+
     @AfterAll
     static void tearDown() throws IOException {
         mockWebServer.shutdown();
@@ -58,7 +90,7 @@ class ProductServiceIntegrationTest {
     void getAllProducts_ShouldReturnProducts_WhenResponseIsSuccessful() {
         String baseUrl = mockWebServer.url("/").toString();
         WebClient webClient = WebClient.create(baseUrl);
-        ProductService service = new ProductService(webClient);
+        ProductService service = new ProductServiceBuilder(webClient).build();
 
         String responseBody = """
         {
@@ -98,7 +130,7 @@ class ProductServiceIntegrationTest {
     @Test
     void getAllProducts_ShouldThrowServiceUnavailableException_WhenConnectionFails() {
         WebClient webClient = WebClient.create("http://localhost:9999");
-        ProductService service = new ProductService(webClient);
+        ProductService service = new ProductServiceBuilder(webClient).build();
 
         Flux<ProductsResponse> result = service.getAllProducts();
 
@@ -120,7 +152,8 @@ class ProductServiceIntegrationTest {
         mockProduct.setPrice(549.0);
 
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri("/products/{id}", productId)).thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri("/products/{id}?select={select}", productId, ProductService.UPSTREAM_FIELDS))
+                .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
         when(responseSpec.bodyToMono(Product.class)).thenReturn(Mono.just(mockProduct));
@@ -141,7 +174,8 @@ class ProductServiceIntegrationTest {
         Long productId = 999L;
 
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri("/products/{id}", productId)).thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri("/products/{id}?select={select}", productId, ProductService.UPSTREAM_FIELDS))
+                .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
         when(responseSpec.bodyToMono(Product.class))
@@ -152,7 +186,8 @@ class ProductServiceIntegrationTest {
                 .expectErrorMatches(throwable ->
                         throwable instanceof ProductNotFoundException &&
                                 throwable.getMessage().equals("Produto não encontrado com o ID: " + productId)
-                );
+                )
+                .verify();
     }
 
     @Test
@@ -161,7 +196,8 @@ class ProductServiceIntegrationTest {
         Long productId = 1L;
 
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri("/products/{id}", productId)).thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri("/products/{id}?select={select}", productId, ProductService.UPSTREAM_FIELDS))
+                .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
         when(responseSpec.bodyToMono(Product.class))
@@ -172,7 +208,8 @@ class ProductServiceIntegrationTest {
                 .expectErrorMatches(throwable ->
                         throwable instanceof ServiceUnavailableException &&
                                 throwable.getMessage().equals("Serviço DummyJSON indisponível")
-                );
+                )
+                .verify();
     }
 
     @Test
@@ -181,7 +218,8 @@ class ProductServiceIntegrationTest {
         Long productId = 1L;
 
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri("/products/{id}", productId)).thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri("/products/{id}?select={select}", productId, ProductService.UPSTREAM_FIELDS))
+                .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
         when(responseSpec.bodyToMono(Product.class))
@@ -202,7 +240,8 @@ class ProductServiceIntegrationTest {
         Long productId = 1L;
 
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri("/products/{id}", productId)).thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri("/products/{id}?select={select}", productId, ProductService.UPSTREAM_FIELDS))
+                .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
         when(responseSpec.bodyToMono(Product.class))
@@ -216,4 +255,378 @@ class ProductServiceIntegrationTest {
                 )
                 .verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getProductById_ShouldServeFromCache_WhenProductWasAlreadyFetched() throws IOException {
+        try (MockWebServer cacheServer = new MockWebServer()) {
+            AtomicInteger calls = new AtomicInteger();
+            cacheServer.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    calls.incrementAndGet();
+                    return new MockResponse()
+                            .setBody("{\"id\": 5, \"title\": \"Huawei P30\", \"price\": 499}")
+                            .addHeader("Content-Type", "application/json");
+                }
+            });
+
+            ProductCache productCache = new ProductCache(new ProductCacheProperties());
+            ProductService service = new ProductServiceBuilder(WebClient.create(cacheServer.url("/").toString()))
+                    .cache(productCache)
+                    .build();
+
+            StepVerifier.create(service.getProductById(5L))
+                    .expectNextMatches(product -> product.getTitle().equals("Huawei P30"))
+                    .verifyComplete();
+            StepVerifier.create(service.getProductById(5L))
+                    .expectNextMatches(product -> product.getTitle().equals("Huawei P30"))
+                    .verifyComplete();
+
+            assertEquals(1, calls.get());
+            assertEquals(1, productCache.stats().hitCount());
+            assertEquals(1, productCache.stats().missCount());
+        }
+    }
+
+    @Test
+    void getProductById_ShouldServeStaleAndRevalidate_WhenEntryIsPastTtl() throws IOException {
+        try (MockWebServer staleServer = new MockWebServer()) {
+            AtomicInteger calls = new AtomicInteger();
+            staleServer.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse()
+                            .setBody("{\"id\": 9, \"title\": \"Versao " + calls.incrementAndGet() + "\", \"price\": 10}")
+                            .addHeader("Content-Type", "application/json");
+                }
+            });
+
+            ProductCacheProperties cacheProperties = new ProductCacheProperties();
+            cacheProperties.setTtl(Duration.ZERO);
+            ProductCache productCache = new ProductCache(cacheProperties);
+            ProductService service = new ProductServiceBuilder(WebClient.create(staleServer.url("/").toString()))
+                    .cache(productCache)
+                    .build();
+
+            StepVerifier.create(service.getProductById(9L))
+                    .expectNextMatches(product -> product.getTitle().equals("Versao 1"))
+                    .verifyComplete();
+            StepVerifier.create(service.getProductById(9L))
+                    .expectNextMatches(product -> product.getTitle().equals("Versao 1"))
+                    .verifyComplete();
+
+            Awaitility.await().atMost(Duration.ofSeconds(2))
+                    .until(() -> "Versao 2".equals(productCache.lookup(9L).product().getTitle()));
+            assertEquals(2, staleServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void getProductById_ShouldServeStale_WhenUpstreamFailsWithinStaleIfError() throws IOException {
+        try (MockWebServer staleServer = new MockWebServer()) {
+            staleServer.enqueue(new MockResponse()
+                    .setBody("{\"id\": 10, \"title\": \"HP Pavilion 15-DK1056WM\", \"price\": 1099}")
+                    .addHeader("Content-Type", "application/json"));
+            staleServer.enqueue(new MockResponse().setResponseCode(503));
+
+            ProductCacheProperties cacheProperties = new ProductCacheProperties();
+            cacheProperties.setTtl(Duration.ZERO);
+            cacheProperties.setStaleWhileRevalidate(Duration.ZERO);
+            ProductService service = new ProductServiceBuilder(WebClient.create(staleServer.url("/").toString()))
+                    .cache(new ProductCache(cacheProperties))
+                    .build();
+
+            StepVerifier.create(service.getProductById(10L))
+                    .expectNextCount(1)
+                    .verifyComplete();
+            StepVerifier.create(service.getProductById(10L))
+                    .expectNextMatches(product -> product.getTitle().equals("HP Pavilion 15-DK1056WM"))
+                    .verifyComplete();
+
+            assertEquals(2, staleServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void getProductById_ShouldNotCallUpstreamAgain_WhenIdIsInNegativeCache() throws IOException {
+        try (MockWebServer notFoundServer = new MockWebServer()) {
+            notFoundServer.enqueue(new MockResponse().setResponseCode(404));
+
+            ProductService service = new ProductServiceBuilder(WebClient.create(notFoundServer.url("/").toString()))
+                    .cache(new ProductCache(new ProductCacheProperties()))
+                    .build();
+
+            StepVerifier.create(service.getProductById(500L))
+                    .expectError(ProductNotFoundException.class)
+                    .verify();
+            StepVerifier.create(service.getProductById(500L))
+                    .expectErrorMatches(e -> e instanceof ProductNotFoundException && e.getStackTrace().length == 0)
+                    .verify();
+
+            assertEquals(1, notFoundServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void getProductById_ShouldNotCacheAsMissing_WhenUpstreamRejectsWithOther4xx() throws IOException {
+        try (MockWebServer throttledServer = new MockWebServer()) {
+            throttledServer.enqueue(new MockResponse().setResponseCode(429));
+            throttledServer.enqueue(new MockResponse()
+                    .setBody("{\"id\": 500, \"title\": \"Produto 500\", \"price\": 10}")
+                    .addHeader("Content-Type", "application/json"));
+
+            ProductCache cache = new ProductCache(new ProductCacheProperties());
+            ProductService service = new ProductServiceBuilder(WebClient.create(throttledServer.url("/").toString()))
+                    .cache(cache)
+                    .build();
+
+            StepVerifier.create(service.getProductById(500L))
+                    .expectError(ServiceUnavailableException.class)
+                    .verify();
+            assertFalse(cache.isKnownMissing(500L));
+            StepVerifier.create(service.getProductById(500L))
+                    .expectNextMatches(product -> product.getTitle().equals("Produto 500"))
+                    .verifyComplete();
+
+            assertEquals(2, throttledServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void getProductById_ShouldRejectIdsMissingFromKnownCatalog_WithoutCallingUpstream() throws IOException {
+        try (MockWebServer filterServer = new MockWebServer()) {
+            filterServer.enqueue(new MockResponse()
+                    .setBody("{\"id\": 195, \"title\": \"Produto novo\", \"price\": 10}")
+                    .addHeader("Content-Type", "application/json"));
+
+            ProductIdFilter idFilter = new ProductIdFilter(new IdFilterProperties());
+            idFilter.rebuild(new CatalogSnapshot(List.of(productWithId(1L), productWithId(3L), productWithId(194L)),
+                    Instant.now()));
+            ProductService service = new ProductServiceBuilder(WebClient.create(filterServer.url("/").toString()))
+                    .idFilter(idFilter)
+                    .build();
+
+            StepVerifier.create(service.getProductById(2L))
+                    .expectError(ProductNotFoundException.class)
+                    .verify();
+            StepVerifier.create(service.getProductById(0L))
+                    .expectError(ProductNotFoundException.class)
+                    .verify();
+            StepVerifier.create(service.getProductById(195L))
+                    .expectNextMatches(product -> product.getTitle().equals("Produto novo"))
+                    .verifyComplete();
+
+            assertEquals(1, filterServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void getProductById_ShouldShareOneUpstreamCall_WhenRequestsAreConcurrent() throws IOException {
+        try (MockWebServer coalescingServer = new MockWebServer()) {
+            coalescingServer.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse()
+                            .setBody("{\"id\": 7, \"title\": \"Samsung Universe 9\", \"price\": 1249}")
+                            .addHeader("Content-Type", "application/json")
+                            .setBodyDelay(300, TimeUnit.MILLISECONDS);
+                }
+            });
+            ProductService service = new ProductServiceBuilder(WebClient.create(coalescingServer.url("/").toString())).build();
+
+            Flux<Product> concurrentCalls = Flux.range(0, 50)
+                    .flatMap(i -> service.getProductById(7L));
+
+            StepVerifier.create(concurrentCalls)
+                    .expectNextCount(50)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+
+            assertEquals(1, coalescingServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void getAllProducts_ShouldShareErrorWithAllSubscribers_WhenUpstreamFails() throws IOException {
+        try (MockWebServer coalescingServer = new MockWebServer()) {
+            coalescingServer.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse()
+                            .setResponseCode(500)
+                            .setBodyDelay(300, TimeUnit.MILLISECONDS);
+                }
+            });
+            ProductService service = new ProductServiceBuilder(WebClient.create(coalescingServer.url("/").toString())).build();
+
+            Flux<String> concurrentCalls = Flux.range(0, 20)
+                    .flatMap(i -> service.getAllProducts()
+                            .map(response -> "ok")
+                            .onErrorResume(ServiceUnavailableException.class, e -> Mono.just("error")));
+
+            StepVerifier.create(concurrentCalls)
+                    .expectNextSequence(Collections.nCopies(20, "error"))
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+
+            assertEquals(1, coalescingServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void getCatalog_ShouldFetchEveryPage_WhenTotalExceedsPageSize() throws IOException {
+        try (MockWebServer catalogServer = new MockWebServer()) {
+            catalogServer.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    int skip = Integer.parseInt(request.getRequestUrl().queryParameter("skip"));
+                    int limit = Integer.parseInt(request.getRequestUrl().queryParameter("limit"));
+                    String products = IntStream.range(skip, Math.min(skip + limit, 7))
+                            .mapToObj(i -> "{\"id\": " + (i + 1) + ", \"title\": \"Produto " + (i + 1) + "\"}")
+                            .collect(Collectors.joining(","));
+                    return new MockResponse()
+                            .setBody("{\"products\": [" + products + "], \"total\": 7, \"skip\": " + skip
+                                    + ", \"limit\": " + limit + "}")
+                            .addHeader("Content-Type", "application/json");
+                }
+            });
+
+            CatalogProperties catalogProperties = new CatalogProperties();
+            catalogProperties.setPageSize(3);
+            catalogProperties.setConcurrency(2);
+            ProductService service = new ProductServiceBuilder(WebClient.create(catalogServer.url("/").toString()))
+                    .catalogProperties(catalogProperties)
+                    .build();
+
+            StepVerifier.create(service.getCatalog().map(Product::getId))
+                    .expectNext(1L, 2L, 3L, 4L, 5L, 6L, 7L)
+                    .verifyComplete();
+
+            assertEquals(3, catalogServer.getRequestCount());
+        }
+    }
+
+    @Test
+    void getProductById_ShouldServeFromSnapshot_WhenMirrorIsEnabled() {
+        MirrorProperties mirrorProperties = new MirrorProperties();
+        mirrorProperties.setEnabled(true);
+        mirrorProperties.setFallbackOnMiss(false);
+        CatalogMirror catalogMirror = new CatalogMirror(mirrorProperties);
+
+        Product mirrored = new Product();
+        mirrored.setId(3L);
+        mirrored.setTitle("Samsung Universe 9");
+        catalogMirror.replace(new CatalogSnapshot(List.of(mirrored), Instant.now()));
+
+        ProductService service = new ProductServiceBuilder(WebClient.create("http://localhost:9999"))
+                .catalogMirror(catalogMirror)
+                .build();
+
+        StepVerifier.create(service.getProductById(3L))
+                .expectNext(mirrored)
+                .verifyComplete();
+        StepVerifier.create(service.getProductById(4L))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+        StepVerifier.create(service.getAllProducts())
+                .expectNextMatches(response -> response.getTotal() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllProducts_ShouldServeFirstPageFromSnapshot_WhenMirrorIsEnabled() {
+        MirrorProperties mirrorProperties = new MirrorProperties();
+        mirrorProperties.setEnabled(true);
+        CatalogMirror catalogMirror = new CatalogMirror(mirrorProperties);
+        catalogMirror.replace(new CatalogSnapshot(LongStream.rangeClosed(1, 194)
+                .mapToObj(ProductServiceIntegrationTest::productWithId)
+                .toList(), Instant.now()));
+
+        ProductService service = new ProductServiceBuilder(WebClient.create("http://localhost:9999"))
+                .catalogMirror(catalogMirror)
+                .build();
+
+        StepVerifier.create(service.getAllProducts())
+                .expectNextMatches(response -> response.getProducts().size() == 30
+                        && response.getProducts().get(29).getId() == 30L
+                        && response.getTotal() == 194
+                        && response.getSkip() == 0
+                        && response.getLimit() == 30)
+                .verifyComplete();
+    }
+
+    @Test
+    void getProductById_ShouldRecordUpstreamTimerByOutcomeAndStatus() throws IOException {
+        try (MockWebServer timedServer = new MockWebServer()) {
+            timedServer.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse().setResponseCode(404);
+                }
+            });
+
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            UpstreamExecutor upstreamExecutor =
+                    UpstreamExecutors.of(HedgingPolicy.disabled(), new UpstreamMetrics(meterRegistry));
+            WebClient webClient = WebClient.builder()
+                    .baseUrl(timedServer.url("/").toString())
+                    .filter(UpstreamMetrics.statusRecorder())
+                    .build();
+            ProductService service = new ProductServiceBuilder(webClient)
+                    .upstreamExecutor(upstreamExecutor)
+                    .build();
+
+            StepVerifier.create(service.getProductById(997L))
+                    .expectError(ProductNotFoundException.class)
+                    .verify();
+
+            assertEquals(1, meterRegistry.get("dummyjson.upstream.requests")
+                    .tags("operation", "getProductById", "outcome", "NOT_FOUND", "status", "404")
+                    .timer()
+                    .count());
+        }
+    }
+
+    @Test
+    void getProductById_ShouldHedgeSlowRequest_WhenHedgingIsEnabled() throws IOException {
+        try (MockWebServer hedgedServer = new MockWebServer()) {
+            AtomicInteger calls = new AtomicInteger();
+            hedgedServer.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    MockResponse response = new MockResponse()
+                            .setBody("{\"id\": 8, \"title\": \"Microsoft Surface Laptop 4\", \"price\": 1499}")
+                            .addHeader("Content-Type", "application/json");
+                    return calls.incrementAndGet() == 1 ? response.setHeadersDelay(2, TimeUnit.SECONDS) : response;
+                }
+            });
+
+            HedgingProperties hedgingProperties = new HedgingProperties();
+            hedgingProperties.setEnabled(true);
+            hedgingProperties.setInitialDelay(Duration.ofMillis(50));
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            UpstreamExecutor upstreamExecutor =
+                    UpstreamExecutors.of(new HedgingPolicy(hedgingProperties, meterRegistry), UpstreamMetrics.noop());
+            ProductService service = new ProductServiceBuilder(WebClient.create(hedgedServer.url("/").toString()))
+                    .upstreamExecutor(upstreamExecutor)
+                    .build();
+
+            StepVerifier.create(service.getProductById(8L))
+                    .expectNextMatches(product -> product.getId() == 8L)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(1));
+
+            assertEquals(2, hedgedServer.getRequestCount());
+            assertEquals(1, meterRegistry.counter("dummyjson.upstream.hedge.fired",
+                    "operation", "getProductById").count());
+            assertEquals(1, meterRegistry.counter("dummyjson.upstream.hedge.won",
+                    "operation", "getProductById").count());
+        }
+    }
+
+    private static Product productWithId(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        return product;
+    }
+}
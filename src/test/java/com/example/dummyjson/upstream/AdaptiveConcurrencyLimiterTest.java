@@ -0,0 +1,92 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.config.ConcurrencyLimitProperties;
+import com.example.dummyjson.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void limit_ShouldRejectImmediately_WhenLimitIsReached() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        List<Sinks.One<String>> pending = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Sinks.One<String> sink = Sinks.one();
+            pending.add(sink);
+            limiter.limit(sink.asMono()).subscribe();
+        }
+
+        StepVerifier.create(limiter.limit(Mono.just("excedente")))
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+        assertEquals(1, limiter.getRejected());
+
+        pending.forEach(sink -> sink.tryEmitValue("ok"));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void onSample_ShouldShrinkWhenLatencyRisesAndBackOffOnErrors() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(100);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 100, false);
+        }
+        int steady = limiter.getLimit();
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(200), 100, false);
+        }
+        int slow = limiter.getLimit();
+        limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 100, true);
+
+        assertTrue(slow < steady, "limite deveria encolher com latencia alta: " + steady + " -> " + slow);
+        assertTrue(limiter.getLimit() < slow);
+    }
+
+    @Test
+    void limit_ShouldNotBackOff_WhenCallIsRejectedLocally() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(50);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("teste");
+        circuitBreaker.transitionToOpenState();
+
+        for (int i = 0; i < 20; i++) {
+            StepVerifier.create(limiter.limit(Mono.error(
+                            CallNotPermittedException.createCallNotPermittedException(circuitBreaker))))
+                    .expectError(CallNotPermittedException.class)
+                    .verify();
+            StepVerifier.create(limiter.limit(Mono.error(
+                            BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("teste")))))
+                    .expectError(BulkheadFullException.class)
+                    .verify();
+        }
+
+        assertEquals(50, limiter.getLimit());
+
+        StepVerifier.create(limiter.limit(Mono.error(new ServiceUnavailableException("falha"))))
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+        assertTrue(limiter.getLimit() < 50);
+    }
+}
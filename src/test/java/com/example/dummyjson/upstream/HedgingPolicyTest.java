@@ -0,0 +1,78 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.config.HedgingProperties;
+import com.example.dummyjson.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HedgingPolicyTest {
+
+    @Test
+    void execute_ShouldWaitForHedge_WhenPrimaryFailsWhileHedgeIsInFlight() {
+        HedgingPolicy policy = policy();
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(policy.execute("getProductById", () -> calls.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofMillis(100)).then(Mono.error(new ServiceUnavailableException("primaria")))
+                        : Mono.delay(Duration.ofMillis(200)).thenReturn("hedge")))
+                .expectNext("hedge")
+                .verifyComplete();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_ShouldFailWithPrimaryError_WhenBothCallsFail() {
+        HedgingPolicy policy = policy();
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(policy.execute("getProductById", () -> calls.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofMillis(100)).then(Mono.error(new ServiceUnavailableException("primaria")))
+                        : Mono.delay(Duration.ofMillis(200)).then(Mono.error(new ServiceUnavailableException("hedge")))))
+                .expectErrorMessage("primaria")
+                .verify();
+    }
+
+    @Test
+    void execute_ShouldFailFast_WhenPrimaryFailsBeforeHedgeFires() {
+        HedgingPolicy policy = policy();
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(policy.execute("getProductById", () -> {
+                    calls.incrementAndGet();
+                    return Mono.error(new ServiceUnavailableException("primaria"));
+                }))
+                .expectErrorMessage("primaria")
+                .verify(Duration.ofSeconds(1));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_ShouldRecordLatencyOfCancelledLoser() {
+        HedgingPolicy policy = policy();
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(policy.execute("getProductById", () -> calls.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofSeconds(5)).thenReturn("primaria")
+                        : Mono.just("hedge")))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        Awaitility.await().atMost(Duration.ofSeconds(1))
+                .until(() -> policy.window("getProductById").count() == 2);
+    }
+
+    private static HedgingPolicy policy() {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setInitialDelay(Duration.ofMillis(20));
+        return new HedgingPolicy(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.dummyjson.upstream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ProductPageDecoderTest {
+
+    private static final String PAGE = "{\"products\":["
+            + "{\"id\":1,\"title\":\"iPhone 9\",\"price\":549.0,\"dimensions\":{\"width\":1.5}},"
+            + "{\"id\":2,\"title\":\"iPhone X\",\"tags\":[\"a\",\"b\"]}"
+            + "],\"total\":194,\"skip\":0,\"limit\":2}";
+
+    private final ProductPageDecoder decoder = new ProductPageDecoder(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void decode_ShouldEmitEachProductThenMetadata_WhenBodyArrivesInSmallChunks() {
+        StepVerifier.create(decoder.decode(chunks(PAGE, 7)))
+                .assertNext(element -> assertEquals(1L, element.product().getId()))
+                .assertNext(element -> assertEquals("iPhone X", element.product().getTitle()))
+                .assertNext(element -> {
+                    assertFalse(element.isProduct());
+                    assertEquals(194, element.total());
+                    assertEquals(2, element.limit());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_ShouldFail_WhenBodyIsTruncated() {
+        StepVerifier.create(decoder.decode(chunks(PAGE.substring(0, PAGE.length() * 3 / 4), 16)))
+                .expectNextCount(1)
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += size) {
+            byte[] chunk = new byte[Math.min(size, bytes.length - offset)];
+            System.arraycopy(bytes, offset, chunk, 0, chunk.length);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.exception.ProductNotFoundException;
+import com.example.dummyjson.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UpstreamExecutorTest {
+
+    @Test
+    void execute_ShouldFailFastWith503_WhenCircuitIsOpen() {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        UpstreamExecutor executor = executor(circuitBreakers, BulkheadRegistry.ofDefaults(), noRetry());
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(executor.execute("getProductById", () -> failing(calls)))
+                    .expectErrorMessage("Serviço DummyJSON indisponível")
+                    .verify();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker(UpstreamExecutor.INSTANCE).getState());
+
+        StepVerifier.create(executor.execute("getProductById", () -> failing(calls)))
+                .expectErrorMatches(e -> e instanceof ServiceUnavailableException
+                        && e.getMessage().contains("circuito aberto"))
+                .verify();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_ShouldRejectWith503_WhenBulkheadIsFull() {
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        UpstreamExecutor executor = executor(CircuitBreakerRegistry.ofDefaults(), bulkheads, noRetry());
+        Sinks.One<String> pending = Sinks.one();
+        executor.execute("getProductById", pending::asMono).subscribe();
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(executor.execute("getProductById", () -> failing(calls)))
+                .expectErrorMatches(e -> e instanceof ServiceUnavailableException
+                        && e.getMessage().contains("chamadas simultâneas"))
+                .verify();
+        assertEquals(0, calls.get());
+
+        pending.tryEmitValue("ok");
+        StepVerifier.create(executor.execute("getProductById", () -> Mono.just("livre")))
+                .expectNext("livre")
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_ShouldRetryTransientFailures_ButNotMissingProducts() {
+        RetryRegistry retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .ignoreExceptions(ProductNotFoundException.class)
+                .build());
+        UpstreamExecutor executor = executor(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                retries);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(executor.execute("getProductById", () -> calls.incrementAndGet() < 3
+                        ? Mono.error(new ServiceUnavailableException("Serviço DummyJSON indisponível"))
+                        : Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+        assertEquals(3, calls.get());
+
+        AtomicInteger missing = new AtomicInteger();
+        StepVerifier.create(executor.execute("getProductById", () -> {
+                    missing.incrementAndGet();
+                    return Mono.error(new ProductNotFoundException("Produto não encontrado com o ID: 1"));
+                }))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+        assertEquals(1, missing.get());
+    }
+
+    private static UpstreamExecutor executor(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads,
+                                             RetryRegistry retries) {
+        return new UpstreamExecutor(HedgingPolicy.disabled(), UpstreamMetrics.noop(), circuitBreakers, bulkheads,
+                retries, null);
+    }
+
+    private static RetryRegistry noRetry() {
+        return RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build());
+    }
+
+    private static Mono<String> failing(AtomicInteger calls) {
+        calls.incrementAndGet();
+        return Mono.error(new ServiceUnavailableException("Serviço DummyJSON indisponível"));
+    }
+}
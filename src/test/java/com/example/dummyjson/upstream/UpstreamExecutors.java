@@ -0,0 +1,19 @@
+package com.example.dummyjson.upstream;
+
+/**
+ * {@link UpstreamExecutor} para testes e benchmarks, sem circuit breaker, bulkhead, retry nem limite de
+ * concorrencia.
+ */
+public final class UpstreamExecutors {
+
+    private UpstreamExecutors() {
+    }
+
+    public static UpstreamExecutor direct() {
+        return of(HedgingPolicy.disabled(), UpstreamMetrics.noop());
+    }
+
+    public static UpstreamExecutor of(HedgingPolicy hedgingPolicy, UpstreamMetrics metrics) {
+        return new UpstreamExecutor(hedgingPolicy, metrics, null, null, null, null);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.dummyjson.upstream;
+
+import com.example.dummyjson.config.UpstreamApiProperties;
+import com.example.dummyjson.service.ProductService;
+import com.example.dummyjson.service.ProductServiceBuilder;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamPoolTest {
+
+    @Test
+    void getProductById_ShouldPreferFasterEndpoint() throws IOException {
+        try (MockWebServer fast = new MockWebServer(); MockWebServer slow = new MockWebServer()) {
+            fast.setDispatcher(products(0, new AtomicBoolean(true)));
+            slow.setDispatcher(products(150, new AtomicBoolean(true)));
+            // Aquece o Netty e as conexoes para que a primeira chamada nao pareca lenta.
+            get(WebClient.create(fast.url("/").toString())).block();
+            get(WebClient.create(slow.url("/").toString())).block();
+            UpstreamPool pool = new UpstreamPool(properties(fast, slow));
+            ProductService service = new ProductServiceBuilder(webClient(pool)).build();
+
+            for (long id = 1; id <= 40; id++) {
+                StepVerifier.create(service.getProductById(id))
+                        .expectNextCount(1)
+                        .verifyComplete();
+            }
+
+            int slowCalls = slow.getRequestCount() - 1;
+            assertEquals(40, fast.getRequestCount() - 1 + slowCalls);
+            assertTrue(slowCalls <= 5, "chamadas ao endpoint lento: " + slowCalls);
+        }
+    }
+
+    @Test
+    void filter_ShouldEjectFailingEndpointAndReinstateAfterProbe() throws IOException {
+        try (MockWebServer healthy = new MockWebServer(); MockWebServer failing = new MockWebServer()) {
+            AtomicBoolean failingUp = new AtomicBoolean(false);
+            healthy.setDispatcher(products(0, new AtomicBoolean(true)));
+            failing.setDispatcher(products(0, failingUp));
+            UpstreamApiProperties properties = properties(healthy, failing);
+            properties.getBalancer().setDecay(Duration.ofMillis(1));
+            properties.getBalancer().setEjectAfterFailures(2);
+            properties.getBalancer().setEjectDuration(Duration.ofMillis(200));
+            UpstreamPool pool = new UpstreamPool(properties);
+            WebClient webClient = webClient(pool);
+            UpstreamPool.Endpoint failingEndpoint = pool.endpoints().get(1);
+
+            for (int i = 0; i < 200 && !failingEndpoint.isEjected(); i++) {
+                get(webClient).onErrorResume(e -> Mono.empty()).block();
+            }
+            assertTrue(failingEndpoint.isEjected());
+
+            int failingCalls = failing.getRequestCount();
+            for (int i = 0; i < 20; i++) {
+                StepVerifier.create(get(webClient)).expectNextCount(1).verifyComplete();
+            }
+            assertEquals(failingCalls, failing.getRequestCount());
+
+            failingUp.set(true);
+            Awaitility.await().atMost(Duration.ofSeconds(2)).until(() -> !pool.dueForProbe().isEmpty());
+            new UpstreamPoolProber(pool, webClient, properties).probe();
+
+            assertFalse(failingEndpoint.isEjected());
+            assertEquals(1, failingEndpoint.getEjectionCount());
+        }
+    }
+
+    private static Mono<String> get(WebClient webClient) {
+        return webClient.get().uri("/products/1").retrieve().bodyToMono(String.class);
+    }
+
+    private static WebClient webClient(UpstreamPool pool) {
+        return WebClient.builder()
+                .baseUrl(pool.primary())
+                .filter(pool.filter())
+                .build();
+    }
+
+    private static UpstreamApiProperties properties(MockWebServer... servers) {
+        UpstreamApiProperties properties = new UpstreamApiProperties();
+        properties.setBaseUrls(List.of(servers).stream().map(server -> server.url("/").toString()).toList());
+        return properties;
+    }
+
+    private static Dispatcher products(long delayMillis, AtomicBoolean up) {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (!up.get()) {
+                    return new MockResponse().setResponseCode(503);
+                }
+                return new MockResponse()
+                        .setHeadersDelay(delayMillis, TimeUnit.MILLISECONDS)
+                        .setBody("{\"id\": 1, \"title\": \"iPhone 9\", \"price\": 549}")
+                        .addHeader("Content-Type", "application/json");
+            }
+        };
+    }
+}